@@ -0,0 +1,56 @@
+package checkers;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Searches every benchmark position to a fixed depth, starting from an empty transposition table each time
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlphaBetaBenchmark {
+
+    @Param({"6","8"})
+    public int depth;
+
+    @Param({"0","1","2","3","4"})
+    public int evalFunc;
+
+    private Board[] positions;
+    private AI ai;
+
+    @Setup
+    public void setUp(){
+        this.positions = BenchmarkPositions.all();
+        this.ai = new AI(this.depth,this.evalFunc,4);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearHash(){
+        this.ai.clearHash();
+    }
+
+    @Benchmark
+    public void alphaBeta(Blackhole blackhole){
+        for(Board board : this.positions){
+            blackhole.consume(this.ai.alphaBeta(board,this.depth));
+        }
+    }
+}
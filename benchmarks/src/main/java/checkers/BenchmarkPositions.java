@@ -0,0 +1,33 @@
+package checkers;
+
+/**
+ * Fixed set of positions every benchmark runs on, from the opening to a king ending
+ */
+public final class BenchmarkPositions {
+
+    //  moves played from the starting position to reach each position
+    private static final String[] LINES = {
+        "",
+        "42-33 21-28 46-39 14-21 55-46 7-14",
+        "42-33 17-26 46-39 10-17 33-24 26-35 24-10 3-17 44-26 17-35 51-44 19-26",
+        "42-33 21-28 46-39 14-21 55-46 7-14 44-35 28-42 49-35 23-30 33-24 30-37 46-28 19-37 53-44 10-19",
+        "42-33 21-28 46-39 14-21 55-46 7-14 44-35 28-42 49-35 23-30 33-24 30-37 46-28 19-37 53-44 10-19 "+
+            "24-10 3-17 44-30 14-23 40-33 23-37 35-28 21-35 51-44 37-51 60-42-28-10 1-19",
+        "42-33 17-26 46-39 10-17 33-24 26-35 24-10 3-17 44-26 17-35 51-44 19-26 55-46 21-28 40-33 26-40 "+
+            "44-26 1-10 26-17 10-24 53-44 14-21 44-35 28-42 49-35 12-19 58-51 23-30 51-44 5-12 46-37 24-33 "+
+            "37-23 19-26 35-17 8-26 23-14 21-28 14-5 12-19",
+    };
+
+    private BenchmarkPositions(){}
+
+    /**
+     * @return a new copy of every benchmark position
+     */
+    public static Board[] all(){
+        Board[] boards = new Board[LINES.length];
+        for(int i=0;i<LINES.length;i++){
+            boards[i] = Move.playLine(LINES[i]);
+        }
+        return boards;
+    }
+}
@@ -0,0 +1,79 @@
+package checkers;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Scores every benchmark position with each heuristic function
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvalBenchmark {
+
+    private Board[] positions;
+    private Evaluator material;
+    private Evaluator backRank;
+    private Evaluator pieceSquare;
+    private Evaluator weighted;
+    private Evaluator pattern;
+
+    @Setup
+    public void setUp(){
+        this.positions = BenchmarkPositions.all();
+        this.material = Evaluator.of(0);
+        this.backRank = Evaluator.of(1);
+        this.pieceSquare = Evaluator.of(2);
+        this.weighted = Evaluator.of(3);
+        this.pattern = Evaluator.of(4);
+    }
+
+    @Benchmark
+    public void eval(Blackhole blackhole){
+        for(Board board : this.positions){
+            blackhole.consume(this.material.evaluate(board));
+        }
+    }
+
+    @Benchmark
+    public void eval1(Blackhole blackhole){
+        for(Board board : this.positions){
+            blackhole.consume(this.backRank.evaluate(board));
+        }
+    }
+
+    @Benchmark
+    public void eval2(Blackhole blackhole){
+        for(Board board : this.positions){
+            blackhole.consume(this.pieceSquare.evaluate(board));
+        }
+    }
+
+    @Benchmark
+    public void weighted(Blackhole blackhole){
+        for(Board board : this.positions){
+            blackhole.consume(this.weighted.evaluate(board));
+        }
+    }
+
+    @Benchmark
+    public void pattern(Blackhole blackhole){
+        for(Board board : this.positions){
+            blackhole.consume(this.pattern.evaluate(board));
+        }
+    }
+}
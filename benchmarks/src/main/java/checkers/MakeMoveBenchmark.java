@@ -0,0 +1,62 @@
+package checkers;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Applies every legal move of every benchmark position,
+ * once by copying the board with makeMove and once in place with make/unmake
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MakeMoveBenchmark {
+
+    private Board[] positions;
+    private MoveList[] moves;
+
+    @Setup
+    public void setUp(){
+        MoveGenerator moveGenerator = new MoveGenerator();
+        this.positions = BenchmarkPositions.all();
+        this.moves = new MoveList[this.positions.length];
+        for(int i=0;i<this.positions.length;i++){
+            this.moves[i] = moveGenerator.moveGen(this.positions[i]);
+        }
+    }
+
+    @Benchmark
+    public void makeMove(Blackhole blackhole){
+        for(int i=0;i<this.positions.length;i++){
+            for(int j=0;j<this.moves[i].size();j++){
+                blackhole.consume(this.positions[i].makeMove(this.moves[i].get(j)));
+            }
+        }
+    }
+
+    @Benchmark
+    public void makeUnmake(Blackhole blackhole){
+        for(int i=0;i<this.positions.length;i++){
+            Board board = this.positions[i];
+            for(int j=0;j<this.moves[i].size();j++){
+                board.make(this.moves[i].get(j));
+                blackhole.consume(board.getHash());
+                board.unmake();
+            }
+        }
+    }
+}
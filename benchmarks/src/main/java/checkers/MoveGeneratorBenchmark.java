@@ -0,0 +1,46 @@
+package checkers;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Generates the legal moves of every benchmark position
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGeneratorBenchmark {
+
+    private Board[] positions;
+    private MoveGenerator moveGenerator;
+    private MoveList moves;
+
+    @Setup
+    public void setUp(){
+        this.positions = BenchmarkPositions.all();
+        this.moveGenerator = new MoveGenerator();
+        this.moves = new MoveList();
+    }
+
+    @Benchmark
+    public void moveGen(Blackhole blackhole){
+        for(Board board : this.positions){
+            this.moveGenerator.moveGen(board,this.moves);
+            blackhole.consume(this.moves.size());
+        }
+    }
+}
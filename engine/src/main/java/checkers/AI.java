@@ -0,0 +1,1292 @@
+package checkers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AI {
+
+    //  memory used by the transposition table if none is given
+    public static final int DEFAULT_HASH_MEGABYTES = 16;
+
+    //  deepest the AI can search, use as depth to only be limited by a time or node budget
+    public static final int MAX_DEPTH = 64;
+
+    //  most plies of forced jumps the search can be extended by past its depth
+    public static final int MAX_QUIESCENCE_PLIES = 32;
+
+    //  plies of forced jumps searched past the depth if no limit is given
+    public static final int DEFAULT_QUIESCENCE_PLIES = 16;
+
+    //  larger than any score a position can get
+    private static final int INFINITY = Integer.MAX_VALUE;
+
+    //  how many nodes are searched between checks of the clock
+    private static final int NODES_PER_CHECK = 1024;
+
+    //  move ordering scores, moves are searched from highest to lowest
+    private static final int HASH_MOVE_SCORE = 1<<30;
+    private static final int CAPTURE_SCORE = 1<<25;
+    private static final int KILLER_SCORE = 1<<22;
+
+    //  history scores are halved once one gets this big so they stay below the killer score
+    private static final int MAX_HISTORY = 1<<20;
+
+    //  score of a position the tablebase says is won in 0 plies, above any heuristic score and below a finished game
+    private static final int TABLEBASE_WIN = INFINITY/2;
+
+    //  how far from the last iterations score the first root move is searched before opening the window
+    private static final int ASPIRATION_WINDOW = 2;
+
+    //  depth the AI searches game tree
+    private int depth;
+
+    //  scores the positions at the end of the search
+    private final Evaluator evaluator;
+
+    //  memory all the transposition tables can use together
+    private int hashMegabytes;
+
+    //  used to generate legal moves in the root position
+    private MoveGenerator moveGenerator;
+    private MoveList rootMoves;
+
+    //  best moves found by the last search and book moves of the last position looked up
+    private MoveList bestMoves;
+    private MoveList bookMoves;
+
+    //  one searcher per thread, root moves are split between them
+    private Searcher[] searchers;
+    private ExecutorService pool;
+
+    //  breaks ties between equally good moves
+    private Random random;
+
+    //  search non principal variation moves with a null window and use aspiration windows at the root,
+    //  turn off to compare against plain alpha beta
+    private boolean principalVariationSearch;
+
+    //  how many plies of forced jumps are searched once the depth is reached, 0 evaluates straight away
+    private int quiescencePlies;
+
+    //  plies without a capture or man move that draw the game, and how much worse than 0 a draw is for the AI
+    private int drawPlies;
+    private int contempt;
+
+    //  exact values of positions with few pieces left, null if there isn't one
+    private Tablebase tablebase;
+
+    //  best moves of opening positions, null if there isn't one
+    private OpeningBook openingBook;
+
+    //  searches the opponents replies while they think, the results are kept by position hash
+    private ExecutorService ponderThread;
+    private Future<?> ponderTask;
+    private volatile boolean ponderCancelled;
+    private HashMap<Long,PonderResult> ponderResults;
+
+    //  what the last call to getMove did and who wants to know about every call
+    private SearchStatistics statistics;
+    private CopyOnWriteArrayList<SearchListener> listeners;
+
+    //  limits on the search, 0 searches to the full depth every move
+    private long timeBudget;
+    private long nodeBudget;
+
+    //  state of the current search, shared by all threads
+    private long startTime;
+    private AtomicLong sharedNodes;
+    private volatile boolean stopped;
+    private volatile boolean canStop;
+    private int completedDepth;
+
+    //  every call to getMove, analyse or startPondering is numbered, a stop only ends the search with the number it was given
+    private AtomicLong searches;
+    private AtomicLong stoppedSearch;
+
+    /**
+     * Creates an AI to play checkers
+     * @param depth - How deep you want this to check in the game tree
+     * @param evalFunc - which heuristic function you want to use (see Evaluator.of)
+     */
+    public AI(int depth,int evalFunc){
+        this(depth,Evaluator.of(evalFunc),DEFAULT_HASH_MEGABYTES);
+    }
+
+    /**
+     * Creates an AI to play checkers
+     * @param depth - How deep you want this to check in the game tree (at most MAX_DEPTH)
+     * @param evalFunc - which heuristic function you want to use (see Evaluator.of)
+     * @param hashMegabytes - memory the transposition table can use
+     */
+    public AI(int depth,int evalFunc,int hashMegabytes){
+        this(depth,Evaluator.of(evalFunc),hashMegabytes);
+    }
+
+    /**
+     * Creates an AI to play checkers
+     * @param depth - How deep you want this to check in the game tree
+     * @param evaluator - heuristic function you want to use, for example a WeightedEvaluator loaded from a file
+     */
+    public AI(int depth,Evaluator evaluator){
+        this(depth,evaluator,DEFAULT_HASH_MEGABYTES);
+    }
+
+    /**
+     * Creates an AI to play checkers
+     * @param depth - How deep you want this to check in the game tree (at most MAX_DEPTH)
+     * @param evaluator - heuristic function you want to use
+     * @param hashMegabytes - memory the transposition table can use
+     */
+    public AI(int depth,Evaluator evaluator,int hashMegabytes){
+        this.depth = Math.min(depth,MAX_DEPTH);
+        this.evaluator = evaluator;
+        this.hashMegabytes = hashMegabytes;
+        this.moveGenerator = new MoveGenerator();
+        this.rootMoves = new MoveList();
+        this.bestMoves = new MoveList();
+        this.bookMoves = new MoveList();
+        this.ponderResults = new HashMap<>();
+        this.statistics = new SearchStatistics();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.random = new Random();
+        this.sharedNodes = new AtomicLong();
+        this.searches = new AtomicLong();
+        this.stoppedSearch = new AtomicLong();
+        this.principalVariationSearch = true;
+        this.quiescencePlies = DEFAULT_QUIESCENCE_PLIES;
+        this.drawPlies = Board.DEFAULT_DRAW_PLIES;
+        this.setThreads(1);
+    }
+
+    /**
+     * Sets how many threads search each move
+     * the root moves are dealt out to the threads in order, each thread has its own
+     * share of the transposition table memory, so results only depend on the position and seed
+     * @param threads - amount of threads to search with
+     */
+    public void setThreads(int threads){
+        if(this.pool!=null){
+            this.pool.shutdown();
+            this.pool = null;
+        }
+        this.searchers = new Searcher[Math.max(1,threads)];
+        for(int i=0;i<this.searchers.length;i++){
+            this.searchers[i] = new Searcher(Math.max(1,this.hashMegabytes/this.searchers.length));
+        }
+        if(this.searchers.length>1){
+            this.pool = Executors.newFixedThreadPool(this.searchers.length,runnable -> {
+                Thread thread = new Thread(runnable,"AI search");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Seeds the random choice between equally good moves so games can be replayed
+     * @param seed - seed for the random number generator
+     */
+    public void setSeed(long seed){
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Turns principal variation search and aspiration windows on or off (on by default)
+     * with them off every move is searched with plain alpha beta and a full window at the root
+     * @param enabled - true to use principal variation search
+     */
+    public void setPrincipalVariationSearch(boolean enabled){
+        this.principalVariationSearch = enabled;
+    }
+
+    /**
+     * Sets how many plies of forced jumps are searched past the depth before a position is evaluated,
+     * so a position is never scored in the middle of an exchange
+     * @param plies - most plies to extend by, 0 evaluates as soon as the depth is reached
+     */
+    public void setQuiescenceLimit(int plies){
+        if(plies<0||plies>MAX_QUIESCENCE_PLIES){
+            throw new IllegalArgumentException("quiescence limit must be between 0 and "+MAX_QUIESCENCE_PLIES);
+        }
+        this.quiescencePlies = plies;
+    }
+
+    /**
+     * Sets how many plies without a capture or man move draw the game, positions that far into the search
+     * and positions that came up before (in the game or the search) are scored as draws
+     * @param plies - plies until the draw, should match the limit the game is played with (see Board.isDraw)
+     */
+    public void setDrawPlies(int plies){
+        this.drawPlies = plies;
+    }
+
+    /**
+     * Sets how much the AI dislikes draws, draws score -contempt for the side the AI is playing
+     * and +contempt for its opponent so a stronger AI avoids them
+     * @param contempt - penalty for a draw in the units of the evaluator, 0 scores draws as even
+     */
+    public void setContempt(int contempt){
+        this.contempt = contempt;
+    }
+
+    /**
+     * Gives the AI a tablebase to look up positions with few pieces left in instead of searching them,
+     * it can be shared by any amount of AIs
+     * @param tablebase - tablebase to use or null to search every position
+     */
+    public void setTablebase(Tablebase tablebase){
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * Gives the AI an opening book to play the first moves from without searching,
+     * it can be shared by any amount of AIs
+     * @param openingBook - opening book to use or null to search every position
+     */
+    public void setOpeningBook(OpeningBook openingBook){
+        this.openingBook = openingBook;
+    }
+
+    /**
+     * Limits how long each move can be thought about
+     * the AI then searches one ply deeper at a time and plays the best move of the deepest finished search
+     * @param millis - time allowed per move, 0 for no limit
+     */
+    public void setTimeBudget(long millis){
+        this.timeBudget = millis;
+    }
+
+    /**
+     * Limits how many positions can be searched for each move
+     * the AI then searches one ply deeper at a time and plays the best move of the deepest finished search
+     * @param nodes - positions allowed per move, 0 for no limit
+     */
+    public void setNodeBudget(long nodes){
+        this.nodeBudget = nodes;
+    }
+
+    /**
+     * @return positions searched by the last call to getMove
+     */
+    public long getNodeCount(){
+        long nodes = 0;
+        for(Searcher searcher : this.searchers){
+            nodes += searcher.nodes;
+        }
+        return nodes;
+    }
+
+    /**
+     * @return positions searched past the depth looking for a quiet position in the last call to getMove,
+     *         these are included in the node count
+     */
+    public long getQuiescenceNodeCount(){
+        long nodes = 0;
+        for(Searcher searcher : this.searchers){
+            nodes += searcher.quiescenceNodes;
+        }
+        return nodes;
+    }
+
+    /**
+     * @return positions looked up in the tablebase in the last call to getMove
+     */
+    public long getTablebaseHits(){
+        long hits = 0;
+        for(Searcher searcher : this.searchers){
+            hits += searcher.tablebaseHits;
+        }
+        return hits;
+    }
+
+    /**
+     * @return beta cutoffs caused by the first move searched divided by all beta cutoffs in the last call to getMove
+     */
+    public double getFirstMoveCutoffRate(){
+        long cutoffs = 0;
+        long firstMoveCutoffs = 0;
+        for(Searcher searcher : this.searchers){
+            cutoffs += searcher.betaCutoffs;
+            firstMoveCutoffs += searcher.firstMoveCutoffs;
+        }
+        return cutoffs==0?0:firstMoveCutoffs/(double)cutoffs;
+    }
+
+    /**
+     * @return what the last call to getMove or analyse did
+     */
+    public SearchStatistics getStatistics(){
+        return this.statistics;
+    }
+
+    /**
+     * Tells a listener about every call to getMove or analyse from now on
+     * @param listener - listener to add
+     */
+    public void addSearchListener(SearchListener listener){
+        this.listeners.add(listener);
+    }
+
+    public void removeSearchListener(SearchListener listener){
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * @return depth of the deepest finished search in the last call to getMove
+     */
+    public int getCompletedDepth(){
+        return this.completedDepth;
+    }
+
+    /**
+     * Asks the search running on another thread to finish, getMove then returns
+     * the best move of the deepest finished iteration (the first iteration always finishes)
+     * does nothing if no search is running, use stop(long) to end a search that may not have started yet
+     */
+    public void stop(){
+        this.stop(this.searches.get());
+    }
+
+    /**
+     * Asks one search to finish like stop, if it hasn't started yet it stops after its first iteration
+     * @param search - number of the search from getNextSearch, called before the search was started
+     */
+    public void stop(long search){
+        this.stoppedSearch.accumulateAndGet(search,Math::max);
+    }
+
+    /**
+     * @return number the next call to getMove, analyse or startPondering searches with, to stop that search with stop(long)
+     */
+    public long getNextSearch(){
+        return this.searches.get()+1;
+    }
+
+    /**
+     * @return true if the search running now was asked to stop
+     */
+    private boolean isStopRequested(){
+        return this.stoppedSearch.get()>=this.searches.get();
+    }
+
+    /**
+     * Forgets every searched position, for example before a new game
+     */
+    public void clearHash(){
+        for(Searcher searcher : this.searchers){
+            searcher.table.clear();
+        }
+    }
+
+    /**
+     * Scores a position with one full window alpha beta search on a single thread
+     * @param gameboard - state of the board
+     * @param depth - How far you want to search (at most the depth the AI was created with)
+     * @return score from the point of view of the player to move
+     */
+    int alphaBeta(Board gameboard, int depth){
+        Searcher searcher = this.searchers[0];
+        searcher.newSearch(gameboard);
+        this.stopped = false;
+        this.canStop = false;
+        return searcher.alphaBeta(searcher.board,Math.min(depth,this.depth),0,-INFINITY,INFINITY);
+    }
+
+    /**
+     * Searches for the best move in the position and returns it
+     * searches one ply deeper at a time until the depth is reached or the budget runs out
+     * @param gameboard - state of the board
+     * @return - randomly selects one move of the best moves in the position (see Move)
+     */
+    public long getMove(Board gameboard){
+
+        //  select random move out of best move list
+        this.getBestMoves(gameboard,this.bestMoves);
+        return this.bestMoves.get(this.random.nextInt(this.bestMoves.size()));
+    }
+
+    /**
+     * Finds every move as good as the best move in the position,
+     * from what was found while pondering if the opponent played one of the replies searched,
+     * from the opening book if the position is in it or else by searching
+     * @param gameboard - state of the board
+     * @param possibleMoves - filled with the best moves (see Move)
+     */
+    public void getBestMoves(Board gameboard, MoveList possibleMoves){
+        this.searches.incrementAndGet();
+        SearchEvent event = new SearchEvent();
+        event.begin();
+
+        //  the search can't run twice at once, anything pondered for other replies is thrown away
+        this.stopPondering();
+        PonderResult pondered = this.ponderResults.get(gameboard.getHash());
+        this.ponderResults.clear();
+        possibleMoves.clear();
+        if(pondered!=null){
+            MoveList moves = this.moveGenerator.moveGen(gameboard);
+            for(int i=0;i<pondered.moves.size();i++){
+                if(moves.contains(pondered.moves.get(i))){
+                    possibleMoves.add(pondered.moves.get(i));
+                }
+            }
+            if(possibleMoves.size()>0){
+                this.completedDepth = pondered.statistics.depth;
+                this.statistics = pondered.statistics;
+                this.statistics.source = SearchStatistics.Source.PONDER;
+            }
+        }
+        if(possibleMoves.size()==0){
+            this.statistics = this.search(gameboard,possibleMoves,false,0,null);
+        }
+        this.report(event,possibleMoves.size());
+    }
+
+    /**
+     * Tells the listeners and the flight recorder what the last search did
+     * @param event - event begun when the search was asked for
+     * @param bestMoves - how many moves the search returned
+     */
+    private void report(SearchEvent event, int bestMoves){
+        for(SearchListener listener : this.listeners){
+            listener.searchFinished(this.statistics);
+        }
+        if(event.shouldCommit()){
+            event.set(this.statistics,bestMoves);
+            event.commit();
+        }
+    }
+
+    /**
+     * Finds the best few moves in the position with an exact score and principal variation for each,
+     * searching like getMove (same depth and budgets) but without the opening book
+     * moves are scored in one search, once count moves have exact scores the others are only searched
+     * with a null window to see if they beat the worst of them
+     * the search is reported to the listeners and the flight recorder like a call to getMove
+     * @param gameboard - state of the board
+     * @param count - how many moves to return, fewer if the position doesn't have that many
+     * @return the best moves from best to worst
+     */
+    public List<AnalysedMove> analyse(Board gameboard, int count){
+        if(count<1){
+            throw new IllegalArgumentException("count must be at least 1");
+        }
+        this.searches.incrementAndGet();
+        SearchEvent event = new SearchEvent();
+        event.begin();
+        this.stopPondering();
+        this.ponderResults.clear();
+
+        //  the scores of the deepest finished iteration are sorted along with rootMoves
+        int[] scores = new int[this.moveGenerator.moveGen(gameboard).size()];
+        this.statistics = this.search(gameboard,this.bestMoves,false,count,scores);
+        ArrayList<AnalysedMove> lines = new ArrayList<>();
+        for(int i=0;i<Math.min(count,this.rootMoves.size());i++){
+            long move = this.rootMoves.get(i);
+            lines.add(new AnalysedMove(move,scores[i],this.completedDepth,this.principalVariation(gameboard,move)));
+        }
+        this.report(event,lines.size());
+        return lines;
+    }
+
+    /**
+     * Follows the best moves stored in the transposition tables from a root move,
+     * taking the longest line any searcher remembers
+     * @param gameboard - state of the board
+     * @param move - root move the line starts with
+     * @return the move and the best replies after it
+     */
+    private long[] principalVariation(Board gameboard, long move){
+        MoveList line = new MoveList();
+        MoveList longest = new MoveList();
+        for(Searcher searcher : this.searchers){
+            Board board = new Board(gameboard);
+            line.clear();
+            line.add(move);
+            board.make(move);
+
+            //  stop at a repetition, the line would go round forever
+            while(line.size()<MAX_DEPTH+MAX_QUIESCENCE_PLIES&&board.getRepetitions()==0){
+                long entry = searcher.table.probe(board.getHash());
+                MoveList moves = this.moveGenerator.moveGen(board);
+                long next = Move.NONE;
+                for(int i=0;i<moves.size()&&entry!=0;i++){
+                    if(TranspositionTable.isBestMove(entry,moves.get(i))){
+                        next = moves.get(i);
+                        break;
+                    }
+                }
+                if(next==Move.NONE){
+                    break;
+                }
+                line.add(next);
+                board.make(next);
+            }
+            if(line.size()>longest.size()){
+                MoveList swap = longest;
+                longest = line;
+                line = swap;
+            }
+        }
+        long[] variation = new long[longest.size()];
+        for(int i=0;i<variation.length;i++){
+            variation[i] = longest.get(i);
+        }
+        return variation;
+    }
+
+    /**
+     * Starts searching the opponents replies on a background thread while they think about their move,
+     * the reply the last search expected is searched first, each reply gets the same depth and budget as a real move
+     * getMove stops pondering and answers straight away if the opponent played a reply that was searched
+     * @param gameboard - state of the board with the opponent to move
+     */
+    public void startPondering(Board gameboard){
+        this.stopPondering();
+        this.ponderResults.clear();
+        if(this.ponderThread==null){
+            this.ponderThread = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable,"AI ponder");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        Board position = new Board(gameboard);
+        this.ponderCancelled = false;
+        this.searches.incrementAndGet();
+        this.ponderTask = this.ponderThread.submit(() -> this.ponder(position));
+    }
+
+    /**
+     * Stops pondering and waits for the background search to finish, keeping what was found so far
+     */
+    public void stopPondering(){
+        if(this.ponderTask==null){
+            return;
+        }
+        this.ponderCancelled = true;
+        this.stopped = true;
+        try {
+            this.ponderTask.get();
+        }
+        catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e){
+            throw new IllegalStateException("ponder thread failed",e.getCause());
+        }
+        this.ponderTask = null;
+        this.ponderCancelled = false;
+    }
+
+    /**
+     * Searches every reply of the opponent until cancelled
+     * @param gameboard - state of the board with the opponent to move
+     */
+    private void ponder(Board gameboard){
+
+        //  the best move of the position stored by the last search is the reply most likely played
+        MoveList replies = this.moveGenerator.moveGen(gameboard);
+        for(Searcher searcher : this.searchers){
+            long entry = searcher.table.probe(gameboard.getHash());
+            for(int i=1;i<replies.size()&&entry!=0;i++){
+                if(TranspositionTable.isBestMove(entry,replies.get(i))){
+                    long expected = replies.get(i);
+                    replies.set(i,replies.get(0));
+                    replies.set(0,expected);
+                    break;
+                }
+            }
+        }
+
+        //  search the position after every reply as if it had been played
+        for(int i=0;i<replies.size()&&!this.ponderCancelled;i++){
+            Board position = gameboard.makeMove(replies.get(i));
+            PonderResult result = new PonderResult();
+            result.statistics = this.search(position,result.moves,true,0,null);
+            if(!this.ponderCancelled&&result.moves.size()>0){
+                this.ponderResults.put(position.getHash(),result);
+            }
+        }
+    }
+
+    /**
+     * Finds every move as good as the best move in the position from the opening book or by searching
+     * @param gameboard - state of the board
+     * @param possibleMoves - filled with the best moves (see Move)
+     * @param pondering - true if the search is for a position the opponent hasn't played yet
+     * @param exactMoves - how many of the best moves need an exact score, 0 to pick a move to play
+     *                     (then the opening book is used and every move as good as the best one gets an exact score)
+     * @param completedScores - filled with the scores of the deepest finished iteration in the order rootMoves ends up in,
+     *                          or null
+     * @return what the search did
+     */
+    private SearchStatistics search(Board gameboard, MoveList possibleMoves, boolean pondering, int exactMoves, int[] completedScores){
+        SearchStatistics statistics = new SearchStatistics();
+        long start = System.nanoTime();
+
+        //  every searcher works on its own copy so moves can be made and unmade in place
+        for(Searcher searcher : this.searchers){
+            searcher.newSearch(gameboard);
+        }
+        this.startTime = System.currentTimeMillis();
+        this.sharedNodes.set(0);
+        this.stopped = false;
+        this.completedDepth = 0;
+
+        //  generate all legal moves in position
+        MoveList moves = this.rootMoves;
+        this.moveGenerator.moveGen(gameboard,moves);
+        int[] scores = new int[moves.size()];
+
+        //  play the book moves without searching, checking they are legal in case of a hash collision
+        possibleMoves.clear();
+        if(this.openingBook!=null&&exactMoves==0){
+            this.openingBook.probe(gameboard.getHash(),this.bookMoves);
+            for(int i=0;i<this.bookMoves.size();i++){
+                if(moves.contains(this.bookMoves.get(i))){
+                    possibleMoves.add(this.bookMoves.get(i));
+                }
+            }
+            if(possibleMoves.size()>0){
+                statistics.source = SearchStatistics.Source.OPENING_BOOK;
+                statistics.nanos = System.nanoTime()-start;
+                return statistics;
+            }
+        }
+
+        //  go one ply deeper at a time, only a budget or a call to stop can end a search early
+        int previousScore = 0;
+        for(int depth=1;depth<=this.depth&&!(this.isStopRequested()&&this.completedDepth>0);depth++){
+
+            SearchIterationEvent event = new SearchIterationEvent();
+            event.begin();
+            long iterationStart = System.nanoTime();
+            long nodes = this.getNodeCount();
+
+            //  the first search always finishes so there is a move to play
+            this.canStop = depth>1;
+            if(!this.searchRoot(moves,depth,Math.max(1,exactMoves),scores,previousScore,this.completedDepth>0)){
+                break;
+            }
+            previousScore = this.findBestMoves(moves,scores,possibleMoves);
+            this.completedDepth = depth;
+            statistics.iterationNanos[depth] = System.nanoTime()-iterationStart;
+            statistics.iterationNodes[depth] = this.getNodeCount()-nodes;
+            if(event.shouldCommit()){
+                event.depth = depth;
+                event.nodes = statistics.iterationNodes[depth];
+                event.pondering = pondering;
+                event.commit();
+            }
+
+            //  search the best moves first in the next iteration
+            this.sortRootMoves(moves,scores);
+            if(completedScores!=null){
+                System.arraycopy(scores,0,completedScores,0,scores.length);
+            }
+        }
+
+        //  add up what every searcher did
+        statistics.depth = this.completedDepth;
+        statistics.score = previousScore;
+        statistics.nanos = System.nanoTime()-start;
+        for(Searcher searcher : this.searchers){
+            statistics.nodes += searcher.nodes;
+            statistics.quiescenceNodes += searcher.quiescenceNodes;
+            statistics.betaCutoffs += searcher.betaCutoffs;
+            statistics.firstMoveCutoffs += searcher.firstMoveCutoffs;
+            statistics.hashProbes += searcher.hashProbes;
+            statistics.hashHits += searcher.hashHits;
+            statistics.tablebaseHits += searcher.tablebaseHits;
+        }
+        return statistics;
+    }
+
+    /**
+     * Scores every move in a position to a fixed depth, split between the searchers
+     * @param moves - legal moves in the position
+     * @param depth - How far you want to search after each move
+     * @param exactMoves - how many of the best moves need an exact score
+     * @param scores - filled with the score of each move from the point of view of the player to move,
+     *                 moves that can't be one of the best only get an upper bound
+     * @param previousScore - best score of the last iteration
+     * @param hasPreviousScore - false in the first iteration
+     * @return false if the budget ran out before every move was scored
+     */
+    private boolean searchRoot(MoveList moves, int depth, int exactMoves, int[] scores, int previousScore, boolean hasPreviousScore){
+
+        //  single threaded search scores every move itself
+        if(this.pool==null){
+            this.searchers[0].scoreMoves(moves,depth,0,1,exactMoves,scores,previousScore,hasPreviousScore);
+            return !this.stopped;
+        }
+
+        //  deal moves out to the searchers and wait for all of them to finish
+        ArrayList<Callable<Void>> tasks = new ArrayList<>();
+        for(int i=0;i<this.searchers.length;i++){
+            Searcher searcher = this.searchers[i];
+            int first = i;
+            tasks.add(() -> {
+                searcher.scoreMoves(moves,depth,first,this.searchers.length,exactMoves,scores,previousScore,hasPreviousScore);
+                return null;
+            });
+        }
+        try {
+            for(Future<Void> result : this.pool.invokeAll(tasks)){
+                result.get();
+            }
+        }
+        catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            this.stopped = true;
+        }
+        catch (ExecutionException e){
+            throw new IllegalStateException("search thread failed",e.getCause());
+        }
+        return !this.stopped;
+    }
+
+    /**
+     * Finds the moves with the highest score
+     * @param moves - legal moves in the position
+     * @param scores - score of each move
+     * @param possibleMoves - filled with the moves with the best score
+     * @return the best score
+     */
+    private int findBestMoves(MoveList moves, int[] scores, MoveList possibleMoves){
+
+        //  start at -infinity for the player to move
+        possibleMoves.clear();
+        int value = -INFINITY;
+
+        //  for all moves
+        for(int i=0;i<scores.length;i++){
+
+            //  if move is just as good as best move make it a candidate
+            if(value==scores[i]){
+                possibleMoves.add(moves.get(i));
+            }
+
+            //  keep the moves with the highest score
+            if(value<scores[i]){
+                possibleMoves.clear();
+                value = scores[i];
+                possibleMoves.add(moves.get(i));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Sorts the root moves from highest to lowest score, keeping the order of equal moves
+     * @param moves - legal moves in the position
+     * @param scores - score of each move, sorted along with the moves
+     */
+    private void sortRootMoves(MoveList moves, int[] scores){
+        for(int i=1;i<scores.length;i++){
+            long move = moves.get(i);
+            int score = scores[i];
+            int j = i-1;
+            while(j>=0&&scores[j]<score){
+                moves.set(j+1,moves.get(j));
+                scores[j+1] = scores[j];
+                j--;
+            }
+            moves.set(j+1,move);
+            scores[j+1] = score;
+        }
+    }
+
+    /**
+     * Stops the search if the time or node budget has run out
+     * @param nodes - nodes searched by the calling thread since it last checked
+     */
+    private void checkBudget(long nodes){
+        long totalNodes = this.sharedNodes.addAndGet(nodes);
+        if(this.ponderCancelled){
+            this.stopped = true;
+            return;
+        }
+        if(!this.canStop){
+            return;
+        }
+        if(this.isStopRequested()||(this.nodeBudget>0&&totalNodes>=this.nodeBudget)||
+           (this.timeBudget>0&&System.currentTimeMillis()-this.startTime>=this.timeBudget)){
+            this.stopped = true;
+        }
+    }
+
+    /**
+     * Best moves found for a position while pondering and how deep they were searched
+     */
+    private static class PonderResult {
+        private MoveList moves = new MoveList();
+        private SearchStatistics statistics;
+    }
+
+    /**
+     * Searches positions for one thread, everything it changes while searching belongs to it
+     */
+    class Searcher {
+
+        //  private copy of the position being searched
+        private Board board;
+
+        //  side to move in the root position, draws are bad for it when there is contempt
+        private int rootTurn;
+
+        //  used to generate legal moves in a given game position
+        private MoveGenerator moveGenerator;
+
+        //  one reusable move list for every ply of the search
+        private MoveList[] moveLists;
+
+        //  positions that have already been searched
+        private TranspositionTable table;
+
+        //  ordering score of every move in the move list of every ply
+        private int[][] orderScores;
+
+        //  two quiet moves per ply that last caused a beta cutoff
+        private long[][] killers;
+
+        //  how often each quiet move (from*32+to) caused a beta cutoff, weighted by depth
+        private int[] history;
+
+        //  positions searched in the current search, and how many of them were past the depth
+        private long nodes;
+        private long quiescenceNodes;
+
+        //  positions looked up in the tablebase in the current search
+        private long tablebaseHits;
+
+        //  transposition table lookups and how many of them found the position
+        private long hashProbes;
+        private long hashHits;
+
+        //  beta cutoffs and how many of them the first move searched caused
+        private long betaCutoffs;
+        private long firstMoveCutoffs;
+
+        //  draws found by repetition or the quiet move limit so far, they depend on the moves that led to a position
+        //  so a score from a subtree that found one isn't stored where another path to the position would find it
+        private long pathDraws;
+
+        public Searcher(int hashMegabytes){
+            this.moveGenerator = new MoveGenerator();
+            this.moveLists = new MoveList[depth+MAX_QUIESCENCE_PLIES+1];
+            this.orderScores = new int[depth+MAX_QUIESCENCE_PLIES+1][32];
+            this.killers = new long[depth+MAX_QUIESCENCE_PLIES+1][2];
+            for(int i=0;i<this.moveLists.length;i++){
+                this.moveLists[i] = new MoveList();
+            }
+            this.history = new int[32*32];
+            this.table = new TranspositionTable(hashMegabytes);
+        }
+
+        /**
+         * Gets ready to search a new position
+         * @param gameboard - position to search
+         */
+        public void newSearch(Board gameboard){
+            this.board = new Board(gameboard);
+            this.rootTurn = gameboard.getTurn();
+            this.table.newSearch();
+            this.nodes = 0;
+            this.quiescenceNodes = 0;
+            this.tablebaseHits = 0;
+            this.hashProbes = 0;
+            this.hashHits = 0;
+            this.betaCutoffs = 0;
+            this.firstMoveCutoffs = 0;
+
+            //  killers are for the last position, old history is only worth half as much
+            for(long[] killer : this.killers){
+                killer[0] = Move.NONE;
+                killer[1] = Move.NONE;
+            }
+            for(int i=0;i<this.history.length;i++){
+                this.history[i] /= 2;
+            }
+        }
+
+        /**
+         * Scores every step-th root move starting at first
+         * the first exactMoves moves get an exact score, the rest are first searched with a null window just below
+         * the exactMoves-th best score so far and only get an exact score if they are at least as good
+         * @param moves - legal moves in the root position
+         * @param depth - How far you want to search after each move
+         * @param first - index of the first move to score
+         * @param step - distance between moves to score
+         * @param exactMoves - how many of the best moves need an exact score
+         * @param scores - filled with the score of each scored move from the point of view of the player to move
+         * @param previousScore - best score of the last iteration, the first move is searched in a window around it
+         * @param hasPreviousScore - false if there is no last iteration
+         */
+        public void scoreMoves(MoveList moves, int depth, int first, int step, int exactMoves, int[] scores, int previousScore, boolean hasPreviousScore){
+
+            //  best exact scores so far from highest to lowest, a move has to reach the last one to need an exact score
+            int[] top = new int[exactMoves];
+            Arrays.fill(top,-INFINITY);
+            int best = -INFINITY;
+            for(int i=first;i<moves.size()&&!stopped;i+=step){
+                this.board.make(moves.get(i));
+                int score;
+
+                //  plain alpha beta gives every move an exact score
+                if(!principalVariationSearch){
+                    score = -this.alphaBeta(this.board,depth,1,-INFINITY,INFINITY);
+                }
+
+                //  first move is searched in a window around the last iterations score
+                else if(i==first){
+                    score = INFINITY;
+                    if(hasPreviousScore){
+                        int alpha = (int)Math.max(-INFINITY,(long)previousScore-ASPIRATION_WINDOW);
+                        int beta = (int)Math.min(INFINITY,(long)previousScore+ASPIRATION_WINDOW);
+                        score = -this.alphaBeta(this.board,depth,1,-beta,-alpha);
+                        if(score<=alpha||score>=beta){
+                            score = INFINITY;
+                        }
+                    }
+                    if(score==INFINITY&&!stopped){
+                        score = -this.alphaBeta(this.board,depth,1,-INFINITY,INFINITY);
+                    }
+                }
+
+                //  other moves only need an exact score if they tie or beat the last of the best moves
+                else {
+                    score = best;
+                    if(best>-INFINITY){
+                        score = -this.alphaBeta(this.board,depth,1,-best,-(best-1));
+                    }
+                    if(score>=best&&!stopped){
+                        score = -this.alphaBeta(this.board,depth,1,-INFINITY,best==-INFINITY?INFINITY:-(best-1));
+                    }
+                }
+                this.board.unmake();
+                scores[i] = score;
+
+                //  keep the best exact scores in order, the last one is what the next move has to reach
+                for(int j=exactMoves-1;j>=0&&score>top[j];j--){
+                    if(j<exactMoves-1){
+                        top[j+1] = top[j];
+                    }
+                    top[j] = score;
+                }
+                best = top[exactMoves-1];
+            }
+        }
+
+        /**
+         * Generates a score for a given checkers position using alpha beta pruning
+         * scores are from the point of view of the player to move (negamax)
+         * @param gameboard - The state of the game, moves are made and unmade on it in place
+         * @param depth - How far you want to search in the game tree
+         * @param ply - How far this position is from the root of the search
+         * @param alpha - pruning value set to -infinity
+         * @param beta - pruning value set to +infinity
+         * @return Score of position
+         */
+        private int alphaBeta(Board gameboard, int depth, int ply, int alpha, int beta){
+
+            //  the side to move can always repeat a position again, so once one comes back it is a draw
+            if(ply>0&&(gameboard.getQuietPlies()>=drawPlies||gameboard.getRepetitions()>0)){
+                this.pathDraws++;
+                return gameboard.getTurn()==this.rootTurn?-contempt:contempt;
+            }
+            long pathDraws = this.pathDraws;
+
+            //  once the depth is reached keep going until there are no jumps left
+            if(depth==0){
+                return this.quiesce(gameboard,ply,quiescencePlies,alpha,beta);
+            }
+
+            //  give up if the budget has run out, the caller throws the result away
+            this.nodes++;
+            if((this.nodes%NODES_PER_CHECK)==0){
+                checkBudget(NODES_PER_CHECK);
+            }
+            if(stopped){
+                return 0;
+            }
+
+            //  if game is over return heuristic value of board state
+            if(gameboard.isOver()!=0){
+                return gameboard.getTurn()*evaluate(gameboard);
+            }
+
+            //  positions with few pieces left are looked up instead of searched
+            int known = this.probeTablebase(gameboard);
+            if(known!=Tablebase.NOT_FOUND){
+                return known;
+            }
+
+            //  use the score from an earlier search of this position if it was deep enough
+            long hash = gameboard.getHash();
+            long entry = this.table.probe(hash);
+            this.hashProbes++;
+            if(entry!=0){
+                this.hashHits++;
+            }
+            if(entry!=0&&TranspositionTable.getDepth(entry)>=depth){
+                int score = TranspositionTable.getScore(entry);
+                int bound = TranspositionTable.getBound(entry);
+                if(bound==TranspositionTable.EXACT||
+                   (bound==TranspositionTable.LOWER_BOUND&&score>=beta)||
+                   (bound==TranspositionTable.UPPER_BOUND&&score<=alpha)){
+                    return score;
+                }
+            }
+
+            //  get all children of board
+            MoveList moves = this.moveLists[ply];
+            this.moveGenerator.moveGen(gameboard,moves);
+
+            //  if no moves exist than return as losing position
+            if(moves.size()==0){
+                return -INFINITY;
+            }
+
+            //  score moves so the ones most likely to cause a cutoff are searched first
+            int[] scores = this.orderMoves(moves,entry,ply);
+
+            //  maximise score for the player to move
+            int alphaOriginal = alpha;
+            int value = -INFINITY;
+            long bestMove = Move.NONE;
+            for(int i=0;i<moves.size();i++){
+                long move = this.nextMove(moves,scores,i);
+                gameboard.make(move);
+                int score;
+
+                //  after the first move only check that a move can't beat alpha, search again if it can
+                if(i>0&&principalVariationSearch){
+                    score = -this.alphaBeta(gameboard,depth-1,ply+1,-alpha-1,-alpha);
+                    if(score>alpha&&score<beta&&!stopped){
+                        score = -this.alphaBeta(gameboard,depth-1,ply+1,-beta,-alpha);
+                    }
+                }
+                else {
+                    score = -this.alphaBeta(gameboard,depth-1,ply+1,-beta,-alpha);
+                }
+                gameboard.unmake();
+                if(stopped){
+                    return 0;
+                }
+                if(score>value){
+                    value = score;
+                    bestMove = move;
+                }
+                alpha = Math.max(alpha,value);
+                if(alpha>=beta){
+                    this.betaCutoffs++;
+                    if(i==0){
+                        this.firstMoveCutoffs++;
+                    }
+                    if(!Move.isCapture(move)){
+                        this.addCutoff(move,depth,ply);
+                    }
+                    break;
+                }
+            }
+
+            //  remember result for later searches, unless it depends on how this position was reached
+            if(this.pathDraws==pathDraws){
+                int bound = value<=alphaOriginal?TranspositionTable.UPPER_BOUND:
+                            value>=beta?TranspositionTable.LOWER_BOUND:TranspositionTable.EXACT;
+                this.table.store(hash,depth,value,bound,bestMove);
+            }
+            return value;
+        }
+
+        /**
+         * Searches the forced jumps of a position past the depth of the search until neither side has to jump,
+         * jumps can't be declined so there is no standing pat on the static score while one is available
+         * @param gameboard - The state of the game, moves are made and unmade on it in place
+         * @param ply - How far this position is from the root of the search
+         * @param plies - how many more plies of jumps can be searched before the position is evaluated anyway
+         * @param alpha - lowest score the player to move is already sure of
+         * @param beta - highest score the opponent will allow
+         * @return Score of position
+         */
+        private int quiesce(Board gameboard, int ply, int plies, int alpha, int beta){
+
+            //  give up if the budget has run out, the caller throws the result away
+            this.nodes++;
+            this.quiescenceNodes++;
+            if((this.nodes%NODES_PER_CHECK)==0){
+                checkBudget(NODES_PER_CHECK);
+            }
+            if(stopped){
+                return 0;
+            }
+
+            //  evaluate once the game is over
+            if(gameboard.isOver()!=0){
+                return gameboard.getTurn()*evaluate(gameboard);
+            }
+
+            //  positions with few pieces left are looked up instead of searched
+            int known = this.probeTablebase(gameboard);
+            if(known!=Tablebase.NOT_FOUND){
+                return known;
+            }
+
+            //  evaluate once the extension limit is reached
+            if(plies==0){
+                return gameboard.getTurn()*evaluate(gameboard);
+            }
+
+            //  jumps are generated before anything else, so the position is quiet if the first move isn't one
+            MoveList moves = this.moveLists[ply];
+            this.moveGenerator.moveGen(gameboard,moves);
+            if(moves.size()==0){
+                return -INFINITY;
+            }
+            if(!Move.isCapture(moves.get(0))){
+                return gameboard.getTurn()*evaluate(gameboard);
+            }
+
+            //  search the jumps taking the most pieces first
+            int[] scores = this.orderMoves(moves,0,ply);
+            int value = -INFINITY;
+            for(int i=0;i<moves.size();i++){
+                gameboard.make(this.nextMove(moves,scores,i));
+                int score = -this.quiesce(gameboard,ply+1,plies-1,-beta,-alpha);
+                gameboard.unmake();
+                if(stopped){
+                    return 0;
+                }
+                value = Math.max(value,score);
+                alpha = Math.max(alpha,value);
+                if(alpha>=beta){
+                    break;
+                }
+            }
+            return value;
+        }
+
+        /**
+         * Looks the position up in the tablebase, wins in fewer plies score higher
+         * @param gameboard - state of the board
+         * @return score of the position from the point of view of the player to move or Tablebase.NOT_FOUND
+         */
+        private int probeTablebase(Board gameboard){
+            if(tablebase==null||gameboard.getWhitePieceCount()+gameboard.getBlackPieceCount()>tablebase.getPieces()){
+                return Tablebase.NOT_FOUND;
+            }
+            int value = tablebase.probe(gameboard);
+            if(value==Tablebase.NOT_FOUND){
+                return value;
+            }
+            this.tablebaseHits++;
+            if(value>0){
+                return TABLEBASE_WIN-Tablebase.getDistance(value);
+            }
+            if(value<0){
+                return -TABLEBASE_WIN+Tablebase.getDistance(value);
+            }
+            return 0;
+        }
+
+        /**
+         * Gives every move a score for how early it should be searched:
+         * the best move from the transposition table, then captures by amount of pieces taken,
+         * then the killer moves of this ply, then other moves by their history score
+         * @param moves - moves to score
+         * @param entry - transposition table entry of the position or 0
+         * @param ply - How far the position is from the root of the search
+         * @return score of every move, in the same order as the list
+         */
+        private int[] orderMoves(MoveList moves, long entry, int ply){
+            if(this.orderScores[ply].length<moves.size()){
+                this.orderScores[ply] = new int[moves.size()*2];
+            }
+            int[] scores = this.orderScores[ply];
+            long[] killer = this.killers[ply];
+            for(int i=0;i<moves.size();i++){
+                long move = moves.get(i);
+                if(entry!=0&&TranspositionTable.isBestMove(entry,move)){
+                    scores[i] = HASH_MOVE_SCORE;
+                }
+                else if(Move.isCapture(move)){
+                    scores[i] = CAPTURE_SCORE+Integer.bitCount(Move.getCaptures(move));
+                }
+                else if(move==killer[0]){
+                    scores[i] = KILLER_SCORE+1;
+                }
+                else if(move==killer[1]){
+                    scores[i] = KILLER_SCORE;
+                }
+                else {
+                    scores[i] = this.history[Move.getFrom(move)*32+Move.getTo(move)];
+                }
+            }
+            return scores;
+        }
+
+        /**
+         * Moves the highest scoring move not searched yet to the front of the unsearched moves
+         * @param moves - moves in the position
+         * @param scores - ordering score of every move
+         * @param index - how many moves have been searched already
+         * @return the move to search next
+         */
+        private long nextMove(MoveList moves, int[] scores, int index){
+            int best = index;
+            for(int i=index+1;i<moves.size();i++){
+                if(scores[i]>scores[best]){
+                    best = i;
+                }
+            }
+            long move = moves.get(best);
+            int score = scores[best];
+            moves.set(best,moves.get(index));
+            scores[best] = scores[index];
+            moves.set(index,move);
+            scores[index] = score;
+            return move;
+        }
+
+        /**
+         * Remembers a quiet move that caused a beta cutoff as a killer and in the history table
+         * @param move - move that caused the cutoff
+         * @param depth - depth the move was searched to
+         * @param ply - How far the position is from the root of the search
+         */
+        private void addCutoff(long move, int depth, int ply){
+            long[] killer = this.killers[ply];
+            if(killer[0]!=move){
+                killer[1] = killer[0];
+                killer[0] = move;
+            }
+            int index = Move.getFrom(move)*32+Move.getTo(move);
+            this.history[index] += depth*depth;
+            if(this.history[index]>MAX_HISTORY){
+                for(int i=0;i<this.history.length;i++){
+                    this.history[i] /= 2;
+                }
+            }
+        }
+    }
+
+    /**
+     * Scores the board with the evaluator the AI was created with
+     * @param gameboard - state of board
+     * @return - number representing heuristic score of position from whites point of view
+     */
+    int evaluate(Board gameboard){
+        return this.evaluator.evaluate(gameboard);
+    }
+}
@@ -0,0 +1,57 @@
+package checkers;
+
+/**
+ * One of the best moves of a position found by AI.analyse, with its exact score
+ * and the line both sides are expected to play after it
+ */
+public class AnalysedMove {
+
+    private final long move;
+    private final int score;
+    private final int depth;
+    private final long[] principalVariation;
+
+    AnalysedMove(long move, int score, int depth, long[] principalVariation){
+        this.move = move;
+        this.score = score;
+        this.depth = depth;
+        this.principalVariation = principalVariation;
+    }
+
+    /**
+     * @return the move (see Move)
+     */
+    public long getMove(){
+        return this.move;
+    }
+
+    /**
+     * @return exact score of the move from the point of view of the player to move
+     */
+    public int getScore(){
+        return this.score;
+    }
+
+    /**
+     * @return depth of the deepest finished iteration the score is from
+     */
+    public int getDepth(){
+        return this.depth;
+    }
+
+    /**
+     * @return the move followed by the best replies found for both sides, as far as the transposition table remembers them
+     */
+    public long[] getPrincipalVariation(){
+        return this.principalVariation.clone();
+    }
+
+    @Override
+    public String toString(){
+        StringBuilder line = new StringBuilder();
+        for(long move : this.principalVariation){
+            line.append(line.length()==0?"":" ").append(Move.toString(move));
+        }
+        return Move.toString(this.move)+" score "+this.score+" depth "+this.depth+" pv "+line;
+    }
+}
@@ -0,0 +1,20 @@
+package checkers;
+
+/**
+ * Gives the board a heuristic score based on
+ * (amount of men) + (amount of kings) + (amount of pieces on back rank)
+ * it then subtracts blacks score from whites score and gets a total score
+ */
+public class BackRankEvaluator implements Evaluator {
+
+    @Override
+    public int evaluate(Board gameboard){
+        if(gameboard.isOver()!=0){
+            return Integer.MAX_VALUE*gameboard.isOver();
+        }
+
+        int whiteScore = (gameboard.getWhiteBackRankCount()+gameboard.getWhiteKingCount()+gameboard.getWhitePieceCount());
+        int blackScore = (gameboard.getBlackBackRankCount()+gameboard.getBlackKingCount()+gameboard.getBlackPieceCount());
+        return whiteScore-blackScore;
+    }
+}
@@ -0,0 +1,257 @@
+package checkers;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Finds the best move of every position in a file (one position per line, see Board.parse) on several threads
+ * positions are read as they are needed and every result is written as soon as it is known (sequence,move,score,depth)
+ * where sequence counts the positions in the file from 0 (blank lines are skipped), lines that aren't positions get error as their move
+ * results come out in the order they finish unless the order of the file is kept
+ *
+ * Run with:
+ *   java -cp engine/target/checkers.jar checkers.BatchAnalyzer [positions file] [results file] [threads] [millis] [depth] [eval] [ordered]
+ */
+public class BatchAnalyzer {
+
+    //  positions that can be read but not written yet for every thread, only these are ever held in memory
+    public static final int POSITIONS_PER_THREAD = 4;
+
+    //  creates a new AI for every worker thread
+    private final Supplier<AI> factory;
+
+    //  how many positions are searched at once
+    private final int threads;
+
+    //  true to write the results in the order of the positions file
+    private final boolean ordered;
+
+    //  taken for every position read and given back once its result is written
+    private final Semaphore unwritten;
+
+    //  results that finished before the results of earlier positions, by sequence number (only used if ordered)
+    private final HashMap<Long,String> waiting;
+    private long nextSequence;
+
+    /**
+     * Creates an analyzer
+     * @param factory - creates the AI that searches the positions, called once per thread
+     * @param threads - how many positions are searched at once
+     * @param ordered - true to write the results in the order of the positions, false to write them as they finish
+     */
+    public BatchAnalyzer(Supplier<AI> factory, int threads, boolean ordered){
+        this.factory = factory;
+        this.threads = Math.max(1,threads);
+        this.ordered = ordered;
+        this.unwritten = new Semaphore(this.threads*POSITIONS_PER_THREAD);
+        this.waiting = new HashMap<>();
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        Path positions = Paths.get(args.length>0?args[0]:"positions.txt");
+        Path results = Paths.get(args.length>1?args[1]:"analysis.csv");
+        int threads = args.length>2?Integer.parseInt(args[2]):Runtime.getRuntime().availableProcessors();
+        long millis = args.length>3?Long.parseLong(args[3]):1000;
+        int depth = args.length>4?Integer.parseInt(args[4]):AI.MAX_DEPTH;
+        Evaluator evaluator = Evaluator.of(args.length>5?args[5]:"1");
+        boolean ordered = args.length>6&&Boolean.parseBoolean(args[6]);
+
+        long start = System.currentTimeMillis();
+        BatchAnalyzer analyzer = new BatchAnalyzer(() -> {
+            AI ai = new AI(depth,evaluator);
+            ai.setTimeBudget(millis);
+            return ai;
+        },threads,ordered);
+        long count;
+        try (BufferedReader in = Files.newBufferedReader(positions,StandardCharsets.UTF_8);
+             BufferedWriter out = Files.newBufferedWriter(results,StandardCharsets.UTF_8)){
+            count = analyzer.analyze(in,out);
+        }
+        System.out.printf("Analysed %d positions from %s to %s in %.1fs%n",count,positions,results,
+                (System.currentTimeMillis()-start)/1000.0);
+    }
+
+    /**
+     * Reads positions until the end of the input and writes the result of each one
+     * @param in - positions, one per line, blank lines are skipped
+     * @param out - where results are written, flushed after every result
+     * @return amount of positions analysed
+     * @throws IOException if the positions can't be read or the results can't be written
+     */
+    public long analyze(BufferedReader in, Writer out) throws IOException {
+
+        //  a line with a null text tells a worker there are no more positions
+        BlockingQueue<Job> jobs = new ArrayBlockingQueue<>(this.threads*POSITIONS_PER_THREAD);
+        this.waiting.clear();
+        this.nextSequence = 0;
+        long count = 0;
+        ExecutorService pool = Executors.newFixedThreadPool(this.threads);
+        try {
+
+            //  every worker has its own AI and keeps taking positions until there are none left
+            ArrayList<Future<?>> workers = new ArrayList<>();
+            for(int i=0;i<this.threads;i++){
+                workers.add(pool.submit(() -> {
+                    AI ai = this.factory.get();
+                    for(Job job=jobs.take();job.text!=null;job=jobs.take()){
+                        this.record(out,job.sequence,this.analyze(ai,job.text));
+                    }
+                    return null;
+                }));
+            }
+
+            //  read no further ahead than the results written allow, a failed worker ends the reading
+            String line;
+            while((line=in.readLine())!=null){
+                if(line.isBlank()){
+                    continue;
+                }
+                if(!this.reserve(workers)||!this.offer(jobs,new Job(count,line),workers)){
+                    break;
+                }
+                count++;
+            }
+            for(int i=0;i<this.threads;i++){
+                if(!this.offer(jobs,new Job(count,null),workers)){
+                    break;
+                }
+            }
+
+            //  a failed worker has to be found before waiting for the others, they may never get to the end
+            for(Future<?> worker : workers){
+                if(worker.isDone()){
+                    worker.get();
+                }
+            }
+            for(Future<?> worker : workers){
+                worker.get();
+            }
+        }
+        catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e){
+            if(e.getCause() instanceof IOException){
+                throw (IOException)e.getCause();
+            }
+            throw new IllegalStateException("analysis failed",e.getCause());
+        }
+        finally {
+            pool.shutdownNow();
+        }
+        return count;
+    }
+
+    /**
+     * Searches one position
+     * @param ai - AI of the worker thread
+     * @param text - the position (see Board.parse)
+     * @return best move, score and depth separated by commas
+     */
+    private String analyze(AI ai, String text){
+        Board board;
+        try {
+            board = Board.parse(text);
+        }
+        catch (IllegalArgumentException e){
+            return "error,0,0";
+        }
+        if(new MoveGenerator().moveGen(board).size()==0){
+            return "none,0,0";
+        }
+        long move = ai.getMove(board);
+        SearchStatistics statistics = ai.getStatistics();
+        return Move.toString(move)+","+statistics.getScore()+","+statistics.getDepth();
+    }
+
+    /**
+     * Waits until a result is written if as many positions as are allowed are being searched or waiting
+     * @return false if a worker failed and no more results will be written
+     */
+    private boolean reserve(ArrayList<Future<?>> workers) throws InterruptedException {
+        while(!this.unwritten.tryAcquire(100,TimeUnit.MILLISECONDS)){
+            if(failed(workers)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Queues a position for the workers, giving up if one of them has failed
+     * @return false if a worker failed and nothing will take the position
+     */
+    private boolean offer(BlockingQueue<Job> jobs, Job job, ArrayList<Future<?>> workers) throws InterruptedException {
+        while(!jobs.offer(job,100,TimeUnit.MILLISECONDS)){
+            if(failed(workers)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //  workers only finish early when they fail
+    private static boolean failed(ArrayList<Future<?>> workers){
+        for(Future<?> worker : workers){
+            if(worker.isDone()){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes a result, or holds on to it until the results of every earlier position are written if the order is kept
+     * @param out - where results are written
+     * @param sequence - number of the position in the file
+     * @param result - best move, score and depth
+     */
+    private synchronized void record(Writer out, long sequence, String result) throws IOException {
+        if(!this.ordered){
+            this.write(out,sequence,result);
+            return;
+        }
+        this.waiting.put(sequence,result);
+        for(String next=this.waiting.remove(this.nextSequence);next!=null;next=this.waiting.remove(this.nextSequence)){
+            this.write(out,this.nextSequence,next);
+        }
+    }
+
+    private void write(Writer out, long sequence, String result) throws IOException {
+        out.write(sequence+","+result+System.lineSeparator());
+        out.flush();
+        this.unwritten.release();
+        if(this.ordered){
+            this.nextSequence++;
+        }
+    }
+
+    //  one line of the positions file
+    private static class Job {
+        final long sequence;
+        final String text;
+
+        Job(long sequence, String text){
+            this.sequence = sequence;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,717 @@
+package checkers;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class Board {
+
+    //  random numbers for every piece on every square used to hash positions
+    //  (white men, white kings, black men, black kings), fixed seed so hashes are the same every run
+    private static final long[][] ZOBRIST = new long[4][32];
+    private static final long ZOBRIST_BLACK_TO_MOVE;
+    static {
+        Random random = new Random(0x436865636B657273L);
+        for(int i=0;i<4;i++){
+            for(int j=0;j<32;j++){
+                ZOBRIST[i][j] = random.nextLong();
+            }
+        }
+        ZOBRIST_BLACK_TO_MOVE = random.nextLong();
+    }
+
+    //  plies without a capture or a man moving after which the game is a draw (the 40 move rule)
+    public static final int DEFAULT_DRAW_PLIES = 80;
+
+    //  back rank of each side, men there stop the opponent from getting kings
+    static final int WHITE_BACK_RANK = 0xF0000000;
+    static final int BLACK_BACK_RANK = 0x0000000F;
+
+    //  score of each kind of piece on every square for its own side (same order as ZOBRIST),
+    //  men score more the further they have advanced and in the centre columns, kings score more in the centre
+    static final int[][] PIECE_SQUARE = new int[4][32];
+    static {
+        for(int i=0;i<32;i++){
+            int row = squareOf(i)/8;
+            int column = squareOf(i)%8;
+            int centre = column>=2&&column<=5?2:0;
+            int king = 7-(Math.abs(2*row-7)+Math.abs(2*column-7))/2;
+            PIECE_SQUARE[0][i] = 7-row+centre;
+            PIECE_SQUARE[1][i] = king;
+            PIECE_SQUARE[2][i] = row+centre;
+            PIECE_SQUARE[3][i] = king;
+        }
+    }
+
+    //  amount of moves made
+    private int moveCount;
+
+    //  current amount of pieces left
+    private int whitePieceCount;
+    private int blackPieceCount;
+
+    //  current amount of kings left
+    private int whiteKingCount;
+    private int blackKingCount;
+
+    //  current amount of men left on their own back rank
+    private int whiteBackRankCount;
+    private int blackBackRankCount;
+
+    //  sum of PIECE_SQUARE for every white piece minus every black piece
+    private int pieceSquareScore;
+
+    //  bitboards of the 32 playable squares (see squareOf), one bit per square
+    private int white;
+    private int black;
+    private int kings;
+
+    //  1 if white; -1 if black
+    private int turn;
+
+    //  zobrist hash of the position, updated as moves are made
+    private long hash;
+
+    //  plies since the last capture or man move, only positions that recent can come back
+    private int quietPlies;
+
+    //  hashes of the positions before every move made, oldest first, copies keep the ones since
+    //  the last capture or man move so repetitions are still found after makeMove (null until one is kept)
+    private long[] history;
+    private int historyCount;
+
+    //  moves applied with make() and what is needed to take them back with unmake(),
+    //  allocated by the first make() so copies that are never searched with make and unmake don't pay for them
+    private long[] undoMoves;
+    private long[] undoHashes;
+    private int[] undoCapturedKings;
+    private boolean[] undoPromoted;
+    private int[] undoPieceSquareScores;
+    private int[] undoQuietPlies;
+    private int undoCount;
+
+    public Board(){
+
+        // no moves made
+        this.moveCount = 0;
+
+        //  white moves first
+        this.turn = 1;
+
+        //  put pieces in starting position
+        this.black = 0x00000FFF;
+        this.white = 0xFFF00000;
+        this.kings = 0;
+
+        //  set up piece counts
+        this.whitePieceCount = 12;
+        this.blackPieceCount = 12;
+        this.whiteKingCount = 0;
+        this.blackKingCount = 0;
+
+        //  set up evaluation terms
+        this.whiteBackRankCount = 4;
+        this.blackBackRankCount = 4;
+        this.pieceSquareScore = this.computePieceSquareScore();
+
+        //  hash starting position
+        this.hash = this.computeHash();
+    }
+
+    //  copy constructor (the copy can't unmake moves made on the original)
+    public Board(Board gameboard){
+
+        this.moveCount = gameboard.moveCount;
+        this.whitePieceCount = gameboard.whitePieceCount;
+        this.blackPieceCount = gameboard.blackPieceCount;
+        this.whiteKingCount = gameboard.whiteKingCount;
+        this.blackKingCount = gameboard.blackKingCount;
+        this.whiteBackRankCount = gameboard.whiteBackRankCount;
+        this.blackBackRankCount = gameboard.blackBackRankCount;
+        this.pieceSquareScore = gameboard.pieceSquareScore;
+        this.turn = gameboard.turn;
+        this.white = gameboard.white;
+        this.black = gameboard.black;
+        this.kings = gameboard.kings;
+        this.hash = gameboard.hash;
+
+        //  positions from before the last capture or man move can't come back
+        this.quietPlies = gameboard.quietPlies;
+        this.historyCount = Math.min(gameboard.historyCount,gameboard.quietPlies);
+        if(this.historyCount>0){
+            int first = gameboard.historyCount-this.historyCount;
+            this.history = Arrays.copyOfRange(gameboard.history,first,first+this.historyCount*2);
+        }
+    }
+
+    /**
+     * Creates a board with the given pieces on it
+     * @param white - bitboard of the white pieces (see squareOf)
+     * @param black - bitboard of the black pieces
+     * @param kings - bitboard of the pieces that are kings
+     * @param turn - 1 if white is to move; -1 if black is to move
+     */
+    public Board(int white, int black, int kings, int turn){
+        this.setPosition(white,black,kings,turn);
+    }
+
+    /**
+     * Replaces the position on this board, forgetting every move made on it
+     * @param white - bitboard of the white pieces (see squareOf)
+     * @param black - bitboard of the black pieces
+     * @param kings - bitboard of the pieces that are kings
+     * @param turn - 1 if white is to move; -1 if black is to move
+     */
+    void setPosition(int white, int black, int kings, int turn){
+        this.moveCount = 0;
+        this.turn = turn;
+        this.white = white;
+        this.black = black;
+        this.kings = kings&(white|black);
+        this.whitePieceCount = Integer.bitCount(white);
+        this.blackPieceCount = Integer.bitCount(black);
+        this.whiteKingCount = Integer.bitCount(white&this.kings);
+        this.blackKingCount = Integer.bitCount(black&this.kings);
+        this.whiteBackRankCount = Integer.bitCount(white&~this.kings&WHITE_BACK_RANK);
+        this.blackBackRankCount = Integer.bitCount(black&~this.kings&BLACK_BACK_RANK);
+        this.pieceSquareScore = this.computePieceSquareScore();
+        this.hash = this.computeHash();
+        this.undoCount = 0;
+        this.quietPlies = 0;
+        this.historyCount = 0;
+    }
+
+    /**
+     * Converts a bitboard index to a square on the 8x8 board
+     * bit n is on row n/4, rows alternate between starting on the odd and even columns
+     * @param index - bit index (0-31)
+     * @return square number (row*8+column)
+     */
+    public static int squareOf(int index){
+        return (index/4)*8+(index%4)*2+((index/4+1)%2);
+    }
+
+    /**
+     * Converts a square on the 8x8 board to a bitboard index
+     * @param square - square number (row*8+column)
+     * @return bit index (0-31) or -1 if the square isn't playable
+     */
+    public static int indexOf(int square){
+        if(square<0||square>63||((square/8+square%8)%2)==0){
+            return -1;
+        }
+        return square/2;
+    }
+
+    /**
+     * Gets the piece on a square
+     * @param square - square number (row*8+column)
+     * @return 0 = empty space; 1 = white piece; 2 = white king; -1 = black piece; -2 = black king
+     */
+    public int getPiece(int square){
+        int index = indexOf(square);
+        if(index<0){
+            return 0;
+        }
+        int bit = 1<<index;
+        int piece = (this.kings&bit)!=0?2:1;
+        if((this.white&bit)!=0){
+            return piece;
+        }
+        if((this.black&bit)!=0){
+            return -piece;
+        }
+        return 0;
+    }
+
+    public int getWhitePieces(){
+        return this.white;
+    }
+
+    public int getBlackPieces(){
+        return this.black;
+    }
+
+    public int getKings(){
+        return this.kings;
+    }
+
+    public int getEmpty(){
+        return ~(this.white|this.black);
+    }
+
+    /**
+     * Prints the board state using unicode (not supported by many consoles)
+     */
+    public void printUnicode(){
+        System.out.print("   ");
+        for(int i=0;i<8;i++){
+            System.out.print(Character.toString((char)(65296+i)));
+        }
+        System.out.println();
+        for(int i=0;i<8;i++){
+            System.out.printf("%2s ",8*i);
+            for(int j=0;j<8;j++){
+                switch (getPiece(i*8+j)){
+
+                    case 0:
+                        System.out.print(Character.toString((char)65283));
+                        break;
+                    case -2:
+                        System.out.print(Character.toString((char)9923));
+                        break;
+                    case -1:
+                        System.out.print(Character.toString((char)9922));
+                        break;
+                    case 1:
+                        System.out.print(Character.toString((char)9920));
+                        break;
+                    case 2:
+                        System.out.print(Character.toString((char)9921));
+
+                }
+                //System.out.print(board[j][i]+" ");
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * Prints the board state
+     */
+    public void print(){
+
+        String[] pieces = {"k","m",".","M","K"};
+        System.out.print("   ");
+        for(int i=0;i<8;i++){
+            System.out.print(i+" ");
+        }
+        for(int i=0;i<8;i++){
+            System.out.printf("\n%2s ",(i*8));
+            for(int j=0;j<8;j++){
+                System.out.print(pieces[this.getPiece(i*8+j)+2]+" ");
+            }
+            System.out.printf("%2s",(i*8));
+        }
+        System.out.print("\n   ");
+        for(int i=0;i<8;i++){
+            System.out.print(i+" ");
+        }
+        System.out.println();
+    }
+
+    /**
+     * Reads a position written in the notation toString writes
+     * @param text - position (example: W:W40,42,K33:B1,3 is white to move with men on 40 and 42, a king on 33
+     *               and black men on 1 and 3), squares are numbered like moves (row*8+column)
+     * @return board with the position on it
+     * @throws IllegalArgumentException if the text isn't a position or has a man on the row it would be kinged on
+     */
+    public static Board parse(String text){
+        String[] fields = text.trim().split(":");
+        if(fields.length!=3||!(fields[0].equals("W")||fields[0].equals("B"))){
+            throw new IllegalArgumentException("expected W or B to move and the pieces of each side in "+text);
+        }
+        int[] pieces = new int[2];
+        int kings = 0;
+        for(int i=1;i<3;i++){
+            String field = fields[i];
+            int side = field.startsWith("W")?0:field.startsWith("B")?1:-1;
+            if(side<0||(i==2&&field.charAt(0)==fields[1].charAt(0))){
+                throw new IllegalArgumentException("expected the white and the black pieces in "+text);
+            }
+            for(String piece : field.substring(1).split(",")){
+                if(piece.isEmpty()){
+                    continue;
+                }
+                boolean king = piece.startsWith("K");
+                int index;
+                try {
+                    index = indexOf(Integer.parseInt(king?piece.substring(1):piece));
+                }
+                catch (NumberFormatException e){
+                    index = -1;
+                }
+                if(index<0||((pieces[0]|pieces[1])&(1<<index))!=0){
+                    throw new IllegalArgumentException("bad square "+piece+" in "+text);
+                }
+                pieces[side] |= 1<<index;
+                if(king){
+                    kings |= 1<<index;
+                }
+            }
+        }
+
+        //  men are kinged as soon as they reach the far row (each side's far row is the other side's back rank)
+        if((pieces[0]&~kings&BLACK_BACK_RANK)!=0||(pieces[1]&~kings&WHITE_BACK_RANK)!=0){
+            throw new IllegalArgumentException("a man stands on the row it would be kinged on in "+text);
+        }
+        return new Board(pieces[0],pieces[1],kings,fields[0].equals("W")?1:-1);
+    }
+
+    /**
+     * Writes the position so it can be read back with parse
+     * @return side to move, then the white and the black pieces with kings marked by K (example: W:W40,42,K33:B1,3)
+     */
+    @Override
+    public String toString(){
+        StringBuilder text = new StringBuilder(this.turn==1?"W":"B");
+        int[] pieces = {this.white,this.black};
+        String[] sides = {":W",":B"};
+        for(int i=0;i<2;i++){
+            text.append(sides[i]);
+            String separator = "";
+            for(int index=0;index<32;index++){
+                if((pieces[i]&(1<<index))!=0){
+                    text.append(separator).append((this.kings&(1<<index))!=0?"K":"").append(squareOf(index));
+                    separator = ",";
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Applies move to board
+     * @param move - packed move you want to do (see Move)
+     * @return A new board state with move applied (doesn't change this board, the new board can't unmake the move)
+     */
+    public Board makeMove(long move){
+
+        //  create copy of this board and apply move to it
+        Board newBoard = new Board(this);
+        newBoard.make(move,false);
+
+        //  return the new gameboard
+        return newBoard;
+    }
+
+    /**
+     * Applies move to this board, it can be taken back exactly with unmake()
+     * @param move - packed move you want to do (see Move)
+     */
+    public void make(long move){
+        this.make(move,true);
+    }
+
+    /**
+     * Applies move to this board
+     * @param move - packed move you want to do (see Move)
+     * @param undoable - false if the move will never be taken back, then nothing is pushed on the undo stack
+     */
+    private void make(long move, boolean undoable){
+
+        //  make room to remember this move
+        if(undoable){
+            this.growUndoStack();
+        }
+
+        //  a king can jump around in a circle and land where it started, then startBit^endBit is 0 and it stays put
+        int startBit = 1<<Move.getFrom(move);
+        int endBit = 1<<Move.getTo(move);
+        int captures = Move.getCaptures(move);
+        int capturedKings = this.kings&captures;
+        boolean isKing = (this.kings&startBit)!=0;
+
+        //  move piece, kill pieces that were hopped and decrement correct piece counts
+        if(this.turn>0){
+            this.white ^= startBit^endBit;
+            this.black &= ~captures;
+            this.blackPieceCount -= Integer.bitCount(captures);
+            this.blackKingCount -= Integer.bitCount(capturedKings);
+            this.blackBackRankCount -= Integer.bitCount(captures&~capturedKings&BLACK_BACK_RANK);
+            if(!isKing&&(startBit&WHITE_BACK_RANK)!=0){
+                this.whiteBackRankCount--;
+            }
+        }
+        else {
+            this.black ^= startBit^endBit;
+            this.white &= ~captures;
+            this.whitePieceCount -= Integer.bitCount(captures);
+            this.whiteKingCount -= Integer.bitCount(capturedKings);
+            this.whiteBackRankCount -= Integer.bitCount(captures&~capturedKings&WHITE_BACK_RANK);
+            if(!isKing&&(startBit&BLACK_BACK_RANK)!=0){
+                this.blackBackRankCount--;
+            }
+        }
+        this.kings &= ~captures;
+        if(isKing){
+            this.kings ^= startBit^endBit;
+        }
+
+        //  king the piece if it reached the far row (white on the top row, black on the bottom row)
+        boolean promoted = !isKing&&(endBit&(this.turn>0?0x0000000F:0xF0000000))!=0;
+        if(promoted){
+            this.kings |= endBit;
+            if(this.turn>0){
+                this.whiteKingCount++;
+            }
+            else {
+                this.blackKingCount++;
+            }
+        }
+
+        //  update hash and piece square score with the moved piece, the hopped pieces and the turn
+        int from = Move.getFrom(move);
+        int to = Move.getTo(move);
+        int side = this.turn>0?0:2;
+        int enemy = 2-side;
+        long newHash = this.hash^ZOBRIST[side+(isKing?1:0)][from]^ZOBRIST[side+(isKing||promoted?1:0)][to]^ZOBRIST_BLACK_TO_MOVE;
+        int gain = PIECE_SQUARE[side+(isKing||promoted?1:0)][to]-PIECE_SQUARE[side+(isKing?1:0)][from];
+        int hopped = captures;
+        while(hopped!=0){
+            int index = Integer.numberOfTrailingZeros(hopped);
+            hopped &= hopped-1;
+            newHash ^= ZOBRIST[enemy+((capturedKings>>>index)&1)][index];
+            gain += PIECE_SQUARE[enemy+((capturedKings>>>index)&1)][index];
+        }
+        this.pieceSquareScore += this.turn*gain;
+
+        //  remember how to undo the move
+        if(undoable){
+            this.undoMoves[this.undoCount] = move;
+            this.undoHashes[this.undoCount] = this.hash;
+            this.undoCapturedKings[this.undoCount] = capturedKings;
+            this.undoPromoted[this.undoCount] = promoted;
+            this.undoPieceSquareScores[this.undoCount] = this.pieceSquareScore-this.turn*gain;
+            this.undoQuietPlies[this.undoCount] = this.quietPlies;
+            this.undoCount++;
+        }
+
+        //  captures and man moves can't be taken back, so no position before them can come back
+        //  and a board that can't unmake forgets them, unmake needs one entry for every move made
+        boolean quiet = captures==0&&isKing;
+        if(undoable||quiet){
+            if(this.history==null){
+                this.history = new long[64];
+            }
+            else if(this.historyCount==this.history.length){
+                this.history = Arrays.copyOf(this.history,this.historyCount*2);
+            }
+            this.history[this.historyCount++] = this.hash;
+        }
+        else {
+            this.historyCount = 0;
+        }
+        this.quietPlies = quiet?this.quietPlies+1:0;
+
+        //  change turn and add one to move count
+        this.hash = newHash;
+        this.turn *= -1;
+        this.moveCount++;
+    }
+
+    /**
+     * Makes sure the undo stack has room for one more move, creating it on the first move
+     */
+    private void growUndoStack(){
+        if(this.undoMoves==null){
+            this.undoMoves = new long[64];
+            this.undoHashes = new long[64];
+            this.undoCapturedKings = new int[64];
+            this.undoPromoted = new boolean[64];
+            this.undoPieceSquareScores = new int[64];
+            this.undoQuietPlies = new int[64];
+        }
+        else if(this.undoCount==this.undoMoves.length){
+            this.undoMoves = Arrays.copyOf(this.undoMoves,this.undoCount*2);
+            this.undoHashes = Arrays.copyOf(this.undoHashes,this.undoCount*2);
+            this.undoCapturedKings = Arrays.copyOf(this.undoCapturedKings,this.undoCount*2);
+            this.undoPromoted = Arrays.copyOf(this.undoPromoted,this.undoCount*2);
+            this.undoPieceSquareScores = Arrays.copyOf(this.undoPieceSquareScores,this.undoCount*2);
+            this.undoQuietPlies = Arrays.copyOf(this.undoQuietPlies,this.undoCount*2);
+        }
+    }
+
+    /**
+     * Takes back the last move applied with make()
+     */
+    public void unmake(){
+
+        //  get the move to undo
+        this.undoCount--;
+        long move = this.undoMoves[this.undoCount];
+        int capturedKings = this.undoCapturedKings[this.undoCount];
+        int startBit = 1<<Move.getFrom(move);
+        int endBit = 1<<Move.getTo(move);
+        int captures = Move.getCaptures(move);
+
+        //  change turn back and take one from move count
+        this.hash = this.undoHashes[this.undoCount];
+        this.pieceSquareScore = this.undoPieceSquareScores[this.undoCount];
+        this.quietPlies = this.undoQuietPlies[this.undoCount];
+        this.historyCount--;
+        this.turn *= -1;
+        this.moveCount--;
+
+        //  turn the piece back into a man if it was kinged
+        if(this.undoPromoted[this.undoCount]){
+            this.kings &= ~endBit;
+            if(this.turn>0){
+                this.whiteKingCount--;
+            }
+            else {
+                this.blackKingCount--;
+            }
+        }
+
+        //  move piece back
+        boolean isKing = (this.kings&endBit)!=0;
+        if(isKing){
+            this.kings ^= startBit^endBit;
+        }
+        this.kings |= capturedKings;
+
+        //  bring back hopped pieces and restore piece counts
+        if(this.turn>0){
+            this.white ^= startBit^endBit;
+            this.black |= captures;
+            this.blackPieceCount += Integer.bitCount(captures);
+            this.blackKingCount += Integer.bitCount(capturedKings);
+            this.blackBackRankCount += Integer.bitCount(captures&~capturedKings&BLACK_BACK_RANK);
+            if(!isKing&&(startBit&WHITE_BACK_RANK)!=0){
+                this.whiteBackRankCount++;
+            }
+        }
+        else {
+            this.black ^= startBit^endBit;
+            this.white |= captures;
+            this.whitePieceCount += Integer.bitCount(captures);
+            this.whiteKingCount += Integer.bitCount(capturedKings);
+            this.whiteBackRankCount += Integer.bitCount(captures&~capturedKings&WHITE_BACK_RANK);
+            if(!isKing&&(startBit&BLACK_BACK_RANK)!=0){
+                this.blackBackRankCount++;
+            }
+        }
+    }
+
+    /**
+     * Hashes the position from scratch
+     * @return zobrist hash of the pieces and the player to move
+     */
+    private long computeHash(){
+        long newHash = this.turn>0?0:ZOBRIST_BLACK_TO_MOVE;
+        for(int i=0;i<32;i++){
+            int bit = 1<<i;
+            int king = (this.kings&bit)!=0?1:0;
+            if((this.white&bit)!=0){
+                newHash ^= ZOBRIST[king][i];
+            }
+            else if((this.black&bit)!=0){
+                newHash ^= ZOBRIST[2+king][i];
+            }
+        }
+        return newHash;
+    }
+
+    /**
+     * Scores the pieces on their squares from scratch
+     * @return sum of PIECE_SQUARE for every white piece minus every black piece
+     */
+    private int computePieceSquareScore(){
+        int score = 0;
+        for(int i=0;i<32;i++){
+            int bit = 1<<i;
+            int king = (this.kings&bit)!=0?1:0;
+            if((this.white&bit)!=0){
+                score += PIECE_SQUARE[king][i];
+            }
+            else if((this.black&bit)!=0){
+                score -= PIECE_SQUARE[2+king][i];
+            }
+        }
+        return score;
+    }
+
+    public long getHash(){
+        return this.hash;
+    }
+
+    public int getMoveCount(){
+        return this.moveCount;
+    }
+
+    public int getWhitePieceCount() {
+        return whitePieceCount;
+    }
+
+    public int getBlackPieceCount() {
+        return blackPieceCount;
+    }
+
+    public int getTurn(){
+        return turn;
+    }
+
+    /**
+     * @return plies since the last capture or move of a man
+     */
+    public int getQuietPlies(){
+        return this.quietPlies;
+    }
+
+    /**
+     * Counts how often the position came up before with the same player to move,
+     * only positions since the last capture or man move are looked at since no earlier one can come back
+     * @return amount of earlier times the position was on the board
+     */
+    public int getRepetitions(){
+        int repetitions = 0;
+        for(int plies=2;plies<=this.quietPlies&&plies<=this.historyCount;plies+=2){
+            if(this.history[this.historyCount-plies]==this.hash){
+                repetitions++;
+            }
+        }
+        return repetitions;
+    }
+
+    /**
+     * Lets user know if the game is drawn, it is once the position comes up for the third time
+     * or after drawPlies plies without a capture or a man moving
+     * @param drawPlies - plies without a capture or man move that draw the game (see DEFAULT_DRAW_PLIES)
+     * @return true if the game is a draw
+     */
+    public boolean isDraw(int drawPlies){
+        return this.quietPlies>=drawPlies||this.getRepetitions()>=2;
+    }
+
+    /**
+     * Lets user know if a player has no pieces left
+     * @return 0 if game isn't over, 1 if white wins, -1 if black wins
+     */
+    public int isOver(){
+
+        if(this.whitePieceCount==0){
+            return -1;
+        }
+        else if(this.blackPieceCount==0){
+            return 1;
+        }
+        else {
+            return 0;
+        }
+    }
+
+    public int getWhiteKingCount() {
+        return this.whiteKingCount;
+    }
+
+    public int getBlackKingCount() {
+        return this.blackKingCount;
+    }
+
+    public int getWhiteBackRankCount() {
+        return this.whiteBackRankCount;
+    }
+
+    public int getBlackBackRankCount() {
+        return this.blackBackRankCount;
+    }
+
+    /**
+     * @return how well placed the white pieces are minus how well placed the black pieces are,
+     *         updated as moves are made
+     */
+    public int getPieceSquareScore() {
+        return this.pieceSquareScore;
+    }
+}
@@ -1,19 +1,32 @@
-import java.util.ArrayList;
+package checkers;
+
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Scanner;
 
 public class Checkers {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
 
         //  user input stuff
-        String move;
+        String input;
+        long move;
         Scanner scanner = new Scanner(System.in);
 
         //  set up starting state of board
         Board board = new Board();
 
-        //  set up AI to play against
-        AI blackAI = new AI(10,0);
+        //  set up AI to play against, it thinks for about a second a move
+        AI blackAI = new AI(AI.MAX_DEPTH,0);
+        blackAI.setTimeBudget(1000);
+
+        //  look up endgames in a tablebase and openings in a book if they are given
+        if(args.length>0&&!args[0].equals("-")){
+            blackAI.setTablebase(new Tablebase(Paths.get(args[0])));
+        }
+        if(args.length>1){
+            blackAI.setOpeningBook(new OpeningBook(Paths.get(args[1])));
+        }
 
         //  create object to generate moves
         MoveGenerator moveGenerator = new MoveGenerator();
@@ -31,7 +44,10 @@ public class Checkers {
             if(board.getTurn()==1){
 
                 //  generate legal moves
-                ArrayList<String> legalMoves = moveGenerator.moveGen(board);
+                MoveList legalMoves = moveGenerator.moveGen(board);
+
+                //  let the AI think about its answers while the player thinks
+                blackAI.startPondering(board);
 
                 //  input loop
                 while(true){
@@ -41,10 +57,11 @@ public class Checkers {
 
                     //  get move input from user
                     System.out.print("Please Enter Move: ");
-                    move = scanner.nextLine();
+                    input = scanner.nextLine();
 
                     //  check move legality
-                    if(!legalMoves.contains(move)){
+                    move = Move.parse(input,legalMoves);
+                    if(move==Move.NONE){
                         System.out.println("Sorry that move isn't legal, please try again");
                         continue;
                     }
@@ -52,14 +69,15 @@ public class Checkers {
                 }
 
                 //  display chosen move
-                System.out.println("Player chooses "+move);
+                System.out.println("Player chooses "+Move.toString(move));
             }
 
             //  AI selects move
             else {
                 System.out.println("AI is thinking...");
                 move = blackAI.getMove(board);
-                System.out.println("AI chooses "+move);
+                System.out.println("AI chooses "+Move.toString(move));
+                System.out.println(blackAI.getStatistics());
             }
 
             //  make move
@@ -78,51 +96,13 @@ public class Checkers {
             if(moveGenerator.moveGen(board).size()==0){
                 //  display victor
                 System.out.println((board.getTurn()==-1?"White":"Black")+" Wins in "+board.getMoveCount()+" moves");
+                break;
             }
-        }
-    }
-
-    /**
-     * Has to AIs play checkers and prints the percentage of white wins
-     * @param trials - the amount of games you want the AIs to play
-     * @param white - The AI you want to play white
-     * @param black - The AI you want to play black
-     */
-    private static void AIBattle(int trials, AI white,AI black){
-
-        MoveGenerator moveGenerator = new MoveGenerator();
-        double whiteWins = 0;
-        for(int i=0;i<trials;i++){
-
-            Board board = new Board();
-
-            while(true){
-
-                //  make move
-                if(board.getTurn()==1){
-                    board = board.makeMove(white.getMove(board));
-                }
-                else {
-                    board = board.makeMove(black.getMove(board));
-                }
-
-                //  check for end conditions
-                if(board.isOver()!=0){
-
-                    if(board.isOver()==1){
-                        whiteWins++;
-                    }
-                    break;
-                }
-                if(moveGenerator.moveGen(board).size()==0){
-                    if(board.getTurn()==-1){
-                        whiteWins++;
-                    }
-                    break;
-                }
+            if(board.isDraw(Board.DEFAULT_DRAW_PLIES)){
+                System.out.println("Draw in "+board.getMoveCount()+" moves");
+                break;
             }
         }
-        System.out.printf("White won %.4s%% of the games",(whiteWins/(double)trials)*100);
     }
 }
 
@@ -0,0 +1,428 @@
+package checkers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Plays any amount of games at once for other programs over a line protocol,
+ * on stdin/stdout and on a TCP port on the local machine
+ *
+ * Commands (one per line, answers are on their own lines):
+ *   newgame                              starts a new game from the starting position, answers ok
+ *   position startpos [moves 42-33 ...]  sets up the starting position with moves played from it, answers ok
+ *   position W:W40,K33:B1,3 [moves ...]  the same from a position in the notation of Board.parse
+ *   go [millis]                          searches the position for about millis (default 1000), answers
+ *                                        info ... and then bestmove 42-33 (or bestmove none) once it is done
+ *   stop                                 ends the running search early, its bestmove is still sent
+ *   quit                                 ends the session
+ * anything that can't be done is answered with error and the reason
+ *
+ * Every session runs on its own virtual thread (or a plain thread before Java 21) and has its own AI
+ * with a fixed amount of hash memory, searches run on a pool shared by all sessions. A session waits for a
+ * free place in the pool before its search is queued, so a burst of clients can't push out running searches
+ * and clients over the session limit are turned away
+ *
+ * Run with:
+ *   java -cp engine/target/checkers.jar checkers.EngineServer [port] [search threads] [max sessions] [hash megabytes per session] [eval]
+ */
+public class EngineServer {
+
+    //  search time if go doesn't give one
+    public static final long DEFAULT_SEARCH_MILLIS = 1000;
+
+    //  longest command a session can send, longer lines end the session
+    public static final int MAX_LINE_LENGTH = 8192;
+
+    //  runs the searches of every session
+    private final ExecutorService searchPool;
+
+    //  places for running and queued searches, a session waits for one before searching
+    private final Semaphore searchSlots;
+
+    //  one thread per session
+    private final ExecutorService sessionThreads;
+    private final Semaphore sessionSlots;
+
+    //  transposition table memory of every session
+    private final int hashMegabytes;
+
+    //  scores the positions of every session, evaluators keep no state so the sessions share one
+    private final Evaluator evaluator;
+
+    /**
+     * Creates a server, it doesn't accept connections until listen is called
+     * @param searchThreads - how many searches run at once
+     * @param queuedSearches - how many more searches can wait for a search thread
+     * @param maxSessions - most sessions open at once
+     * @param hashMegabytes - transposition table memory of every session
+     */
+    public EngineServer(int searchThreads, int queuedSearches, int maxSessions, int hashMegabytes){
+        this(searchThreads,queuedSearches,maxSessions,hashMegabytes,Evaluator.of(1));
+    }
+
+    /**
+     * Creates a server, it doesn't accept connections until listen is called
+     * @param searchThreads - how many searches run at once
+     * @param queuedSearches - how many more searches can wait for a search thread
+     * @param maxSessions - most sessions open at once
+     * @param hashMegabytes - transposition table memory of every session
+     * @param evaluator - heuristic function every session searches with
+     */
+    public EngineServer(int searchThreads, int queuedSearches, int maxSessions, int hashMegabytes, Evaluator evaluator){
+        this.searchPool = Executors.newFixedThreadPool(Math.max(1,searchThreads),runnable -> {
+            Thread thread = new Thread(runnable,"engine search");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.searchSlots = new Semaphore(Math.max(1,searchThreads)+Math.max(0,queuedSearches));
+        this.sessionThreads = newSessionExecutor();
+        this.sessionSlots = new Semaphore(Math.max(1,maxSessions));
+        this.hashMegabytes = Math.max(1,hashMegabytes);
+        this.evaluator = evaluator;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+
+        int port = args.length>0?Integer.parseInt(args[0]):0;
+        int threads = args.length>1?Integer.parseInt(args[1]):Runtime.getRuntime().availableProcessors();
+        int maxSessions = args.length>2?Integer.parseInt(args[2]):64;
+        int hashMegabytes = args.length>3?Integer.parseInt(args[3]):4;
+        Evaluator evaluator = Evaluator.of(args.length>4?args[4]:"1");
+        EngineServer server = new EngineServer(threads,threads*4,maxSessions,hashMegabytes,evaluator);
+
+        //  the console is a session like any other, without a port the server stops when it ends
+        Future<?> console = server.startSession(System.in,System.out,null);
+        if(port>0){
+            server.listen(port);
+        }
+        else if(console!=null){
+            console.get();
+        }
+        server.shutdown();
+    }
+
+    /**
+     * Accepts sessions on a TCP port on the local machine until the server socket is closed
+     * @param port - port to listen on
+     * @throws IOException if the port can't be opened
+     */
+    public void listen(int port) throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket(port,50,InetAddress.getLoopbackAddress())){
+            while(true){
+                Socket socket = serverSocket.accept();
+                if(this.startSession(socket.getInputStream(),socket.getOutputStream(),socket)==null){
+                    PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(),StandardCharsets.UTF_8),true);
+                    out.println("error too many sessions");
+                    socket.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts a session on its own thread
+     * @param in - where commands are read from
+     * @param out - where answers are written to
+     * @param connection - closed when the session ends, or null
+     * @return the running session or null if there are too many sessions
+     */
+    public Future<?> startSession(InputStream in, OutputStream out, AutoCloseable connection){
+        if(!this.sessionSlots.tryAcquire()){
+            return null;
+        }
+        Session session = new Session(in,out);
+        return this.sessionThreads.submit(() -> {
+            try {
+                session.run();
+            }
+            catch (IOException e){
+                session.reply("error "+e.getMessage());
+            }
+            finally {
+                session.close();
+                this.sessionSlots.release();
+                if(connection!=null){
+                    try {
+                        connection.close();
+                    }
+                    catch (Exception e){
+                        //  the other side is gone already
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Stops taking new sessions and searches
+     */
+    public void shutdown(){
+        this.sessionThreads.shutdown();
+        this.searchPool.shutdown();
+    }
+
+    /**
+     * Creates an executor that runs every task on a new virtual thread if the Java version has them,
+     * else on a pool of daemon threads
+     */
+    private static ExecutorService newSessionExecutor(){
+        try {
+            return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch (ReflectiveOperationException|UnsupportedOperationException e){
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable,"engine session");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Reads a line without letting it grow past MAX_LINE_LENGTH
+     * @param in - where to read from
+     * @param line - reused to build the line
+     * @return the line without its line break or null at the end of the input
+     * @throws IOException if the line is too long or can't be read
+     */
+    private static String readLine(Reader in, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int c;
+        while((c=in.read())!=-1&&c!='\n'){
+            if(c=='\r'){
+                continue;
+            }
+            if(line.length()==MAX_LINE_LENGTH){
+                throw new IOException("line longer than "+MAX_LINE_LENGTH+" characters");
+            }
+            line.append((char)c);
+        }
+        return c==-1&&line.length()==0?null:line.toString();
+    }
+
+    /**
+     * One client playing one game at a time
+     */
+    private class Session {
+
+        private final Reader in;
+        private final PrintWriter out;
+
+        //  position the next search starts from
+        private Board board;
+
+        //  searches for this session only
+        private final AI ai;
+        private Future<?> search;
+
+        //  number of the last search queued (see AI.getNextSearch), stop only ends that one
+        private volatile long searchNumber;
+
+        //  true from when a search is queued until just before its bestmove is sent,
+        //  so a client can send its next command as soon as it reads bestmove
+        private volatile boolean searching;
+
+        Session(InputStream in, OutputStream out){
+            this.in = new BufferedReader(new InputStreamReader(in,StandardCharsets.UTF_8));
+            this.out = new PrintWriter(new OutputStreamWriter(out,StandardCharsets.UTF_8));
+            this.board = new Board();
+            this.ai = new AI(AI.MAX_DEPTH,evaluator,hashMegabytes);
+        }
+
+        /**
+         * Answers commands until quit or the end of the input
+         * @throws IOException if the input can't be read
+         */
+        void run() throws IOException {
+            StringBuilder buffer = new StringBuilder();
+            String line;
+            while((line=readLine(this.in,buffer))!=null){
+                String[] words = line.trim().split("\\s+");
+                if(words[0].isEmpty()){
+                    continue;
+                }
+                if(words[0].equals("quit")){
+                    return;
+                }
+                this.handle(words);
+            }
+        }
+
+        /**
+         * Carries out one command
+         * @param words - the command and its arguments
+         */
+        private void handle(String[] words){
+            switch (words[0]){
+
+                case "newgame":
+                    if(this.isSearching()){
+                        this.reply("error searching");
+                        return;
+                    }
+                    this.board = new Board();
+                    this.ai.clearHash();
+                    this.reply("ok");
+                    break;
+
+                case "position":
+                    if(this.isSearching()){
+                        this.reply("error searching");
+                        return;
+                    }
+                    this.position(words);
+                    break;
+
+                case "go":
+                    if(this.isSearching()){
+                        this.reply("error searching");
+                        return;
+                    }
+                    try {
+                        this.go(words.length>1?Long.parseLong(words[1]):DEFAULT_SEARCH_MILLIS);
+                    }
+                    catch (NumberFormatException e){
+                        this.reply("error bad time "+words[1]);
+                    }
+                    break;
+
+                case "stop":
+                    if(this.isSearching()){
+                        this.ai.stop(this.searchNumber);
+                    }
+                    break;
+
+                default:
+                    this.reply("error unknown command "+words[0]);
+            }
+        }
+
+        /**
+         * Sets up the starting position or a position in notation and plays the moves after it
+         * @param words - position startpos|notation [moves ...]
+         */
+        private void position(String[] words){
+            if(words.length<2||(words.length>2&&!words[2].equals("moves"))){
+                this.reply("error expected position startpos|notation [moves ...]");
+                return;
+            }
+            Board position;
+            try {
+                position = words[1].equals("startpos")?new Board():Board.parse(words[1]);
+            }
+            catch (IllegalArgumentException e){
+                this.reply("error "+e.getMessage());
+                return;
+            }
+            MoveGenerator moveGenerator = new MoveGenerator();
+            for(int i=3;i<words.length;i++){
+                long move = Move.parse(words[i],moveGenerator.moveGen(position));
+                if(move==Move.NONE){
+                    this.reply("error illegal move "+words[i]);
+                    return;
+                }
+                position.make(move);
+            }
+            this.board = position;
+            this.reply("ok");
+        }
+
+        /**
+         * Queues a search of the position, waiting for a place if every search thread is busy and the queue is full
+         * @param millis - how long to search for
+         */
+        private void go(long millis){
+            if(new MoveGenerator().moveGen(this.board).size()==0){
+                this.reply("bestmove none");
+                return;
+            }
+            try {
+                searchSlots.acquire();
+            }
+            catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+                this.reply("error interrupted");
+                return;
+            }
+            Board position = new Board(this.board);
+
+            //  a stop sent from now on ends this search even if it is still waiting for a thread
+            this.searchNumber = this.ai.getNextSearch();
+            this.ai.setTimeBudget(Math.max(1,millis));
+            this.searching = true;
+            try {
+                this.search = searchPool.submit(() -> {
+                    long move;
+                    SearchStatistics statistics;
+                    try {
+                        move = this.ai.getMove(position);
+                        statistics = this.ai.getStatistics();
+                    }
+                    finally {
+                        searchSlots.release();
+                        this.searching = false;
+                    }
+
+                    //  the next search can't answer before this one, it waits for the lock held while answering
+                    synchronized(this){
+                        this.reply("info depth "+statistics.getDepth()+" nodes "+statistics.getNodes()+
+                                   " nps "+statistics.getNodesPerSecond()+" time "+statistics.getMillis());
+                        this.reply("bestmove "+Move.toString(move));
+                    }
+                });
+            }
+            catch (RuntimeException e){
+                searchSlots.release();
+                this.searching = false;
+                this.reply("error server is shutting down");
+            }
+        }
+
+        private boolean isSearching(){
+            return this.searching;
+        }
+
+        /**
+         * Sends one line to the client, searches and the session thread both answer
+         */
+        synchronized void reply(String line){
+            this.out.println(line);
+            this.out.flush();
+        }
+
+        /**
+         * Ends the running or queued search early and waits for its answer to be sent
+         */
+        void close(){
+            if(this.search!=null){
+                this.ai.stop(this.searchNumber);
+                try {
+                    this.search.get();
+                }
+                catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                }
+                catch (ExecutionException e){
+                    this.reply("error "+e.getCause());
+                }
+            }
+            this.out.flush();
+        }
+    }
+}
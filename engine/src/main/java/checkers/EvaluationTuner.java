@@ -0,0 +1,209 @@
+package checkers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.LongStream;
+
+/**
+ * Fits the weights of a WeightedEvaluator to the results of recorded games (Texel tuning):
+ * the score of every quiet position is turned into an expected result with a logistic curve,
+ * and the weights are moved down the gradient of the squared difference from the real results
+ *
+ * The positions are read from a position file (see PositionFile) in chunks split between every core
+ * on each pass, so only a chunk per core is ever in memory however big the file is
+ *
+ * Run with:
+ *   java -cp engine/target/checkers.jar checkers.EvaluationTuner [positions file] [weights file] [passes] [learning rate]
+ */
+public class EvaluationTuner {
+
+    //  records each parallel task reads, the file is split into this many per task
+    public static final long CHUNK_RECORDS = 1<<16;
+
+    //  step sizes of the adaptive gradient descent (Adam)
+    private static final double BETA1 = 0.9;
+    private static final double BETA2 = 0.999;
+    private static final double EPSILON = 1e-8;
+
+    //  positions to fit the weights to
+    private final Path positions;
+    private final long records;
+
+    //  how steep the logistic curve is, fitted to the starting weights before tuning
+    private double scale;
+
+    //  weights being tuned, kept as fractions until they are written
+    private final double[] weights;
+
+    //  running averages of the gradient and its square for each weight
+    private final double[] moments;
+    private final double[] variances;
+
+    /**
+     * Creates a tuner
+     * @param positions - position file written by SelfPlay
+     * @param start - weights to start from
+     * @throws IOException if the positions can't be read
+     */
+    public EvaluationTuner(Path positions, WeightedEvaluator start) throws IOException {
+        this.positions = positions;
+        this.records = PositionFile.size(positions);
+        this.weights = start.getWeights();
+        this.moments = new double[this.weights.length];
+        this.variances = new double[this.weights.length];
+        this.scale = 1;
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        Path positions = Paths.get(args.length>0?args[0]:"selfplay.bin");
+        Path file = Paths.get(args.length>1?args[1]:"weights.txt");
+        int passes = args.length>2?Integer.parseInt(args[2]):100;
+        double learningRate = args.length>3?Double.parseDouble(args[3]):0.5;
+
+        long start = System.currentTimeMillis();
+        WeightedEvaluator weights = Files.exists(file)?WeightedEvaluator.load(file):new WeightedEvaluator();
+        EvaluationTuner tuner = new EvaluationTuner(positions,weights);
+        System.out.printf("%d positions, scale %.5f, error %.6f%n",tuner.records,tuner.fitScale(),tuner.error());
+        for(int pass=1;pass<=passes;pass++){
+            double error = tuner.step(learningRate,pass);
+            if(pass%10==0||pass==passes){
+                System.out.printf("pass %d: error %.6f%n",pass,error);
+            }
+        }
+        tuner.getWeights().save(file);
+        System.out.printf("Wrote %s in %.1fs%n",file,(System.currentTimeMillis()-start)/1000.0);
+    }
+
+    /**
+     * Finds the steepness of the logistic curve that best fits the starting weights,
+     * so tuning changes the weights and not the size of the scores
+     * @return the steepness found
+     * @throws IOException if the positions can't be read
+     */
+    public double fitScale() throws IOException {
+        double best = this.scale;
+        double bestError = Double.MAX_VALUE;
+        for(double step=0.1;step>=0.0001;step/=10){
+            double centre = best;
+            for(int i=-10;i<=10;i++){
+                this.scale = Math.max(step,centre+i*step);
+                double error = this.error();
+                if(error<bestError){
+                    bestError = error;
+                    best = this.scale;
+                }
+            }
+        }
+        this.scale = best;
+        return best;
+    }
+
+    /**
+     * @return mean squared difference between the expected and real results of every quiet position
+     * @throws IOException if the positions can't be read
+     */
+    public double error() throws IOException {
+        double[] sums = this.pass(false);
+        return sums[0]/Math.max(1,sums[1]);
+    }
+
+    /**
+     * Moves the weights one step down the gradient of the error
+     * @param learningRate - how far a weight can move in one step
+     * @param step - number of this step counting from 1, earlier steps get a smaller correction
+     * @return error of the weights before the step
+     * @throws IOException if the positions can't be read
+     */
+    public double step(double learningRate, int step) throws IOException {
+        double[] sums = this.pass(true);
+        double count = Math.max(1,sums[1]);
+        for(int i=0;i<this.weights.length;i++){
+            double gradient = sums[2+i]/count;
+            this.moments[i] = BETA1*this.moments[i]+(1-BETA1)*gradient;
+            this.variances[i] = BETA2*this.variances[i]+(1-BETA2)*gradient*gradient;
+            double moment = this.moments[i]/(1-Math.pow(BETA1,step));
+            double variance = this.variances[i]/(1-Math.pow(BETA2,step));
+            this.weights[i] -= learningRate*moment/(Math.sqrt(variance)+EPSILON);
+        }
+        return sums[0]/count;
+    }
+
+    /**
+     * @return the weights found so far, rounded to the steps a WeightedEvaluator keeps (see WeightedEvaluator.WEIGHT_ONE)
+     */
+    public WeightedEvaluator getWeights(){
+        return new WeightedEvaluator(this.weights);
+    }
+
+    /**
+     * Reads every position once, split into chunks read in parallel on the common fork join pool
+     * @param gradient - true to also add up the gradient of the error
+     * @return summed squared error, amount of positions used and the summed gradient of each weight
+     */
+    private double[] pass(boolean gradient) throws IOException {
+        long chunks = (this.records+CHUNK_RECORDS-1)/CHUNK_RECORDS;
+        try {
+            return LongStream.range(0,chunks).parallel()
+                    .mapToObj(chunk -> this.sumChunk(chunk*CHUNK_RECORDS,(chunk+1)*CHUNK_RECORDS,gradient))
+                    .reduce(new double[2+this.weights.length],(a,b) -> {
+                        double[] sum = new double[a.length];
+                        for(int i=0;i<sum.length;i++){
+                            sum[i] = a[i]+b[i];
+                        }
+                        return sum;
+                    });
+        }
+        catch (UncheckedIOException e){
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Adds up the error and its gradient over a range of positions, skipping positions where a jump has to be made
+     * because their static score doesn't say much about who is winning
+     */
+    private double[] sumChunk(long first, long last, boolean gradient){
+        double[] sums = new double[2+this.weights.length];
+        int[] features = new int[WeightedEvaluator.FEATURES];
+        Board board = new Board();
+        MoveGenerator moveGenerator = new MoveGenerator();
+        MoveList moves = new MoveList();
+        try (PositionFile.Reader reader = new PositionFile.Reader(this.positions,first,last)){
+            while(reader.next()){
+                reader.getPosition(board);
+                if(board.isOver()!=0){
+                    continue;
+                }
+                moveGenerator.moveGen(board,moves);
+                if(moves.size()==0||Move.isCapture(moves.get(0))){
+                    continue;
+                }
+
+                //  expected result between 0 (black wins) and 1 (white wins)
+                WeightedEvaluator.features(board,features);
+                double score = 0;
+                for(int i=0;i<features.length;i++){
+                    score += this.weights[i]*features[i];
+                }
+                double expected = 1/(1+Math.exp(-this.scale*score));
+                double difference = expected-(reader.getResult()+1)/2.0;
+                sums[0] += difference*difference;
+                sums[1]++;
+                if(gradient){
+                    double slope = 2*difference*expected*(1-expected)*this.scale;
+                    for(int i=0;i<features.length;i++){
+                        sums[2+i] += slope*features[i];
+                    }
+                }
+            }
+        }
+        catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+        return sums;
+    }
+}
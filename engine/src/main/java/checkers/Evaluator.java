@@ -0,0 +1,63 @@
+package checkers;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Heuristic function an AI scores the positions at the end of its search with
+ * an AI calls the evaluator it was created with at every leaf, so the JIT sees one kind of evaluator there
+ * and can inline it; a new heuristic is a new class instead of another branch in AI
+ */
+public interface Evaluator {
+
+    /**
+     * Gives the board a heuristic score
+     * @param gameboard - state of board
+     * @return - number representing heuristic score of position from whites point of view,
+     *           Integer.MAX_VALUE if white has won and -Integer.MAX_VALUE if black has won
+     */
+    int evaluate(Board gameboard);
+
+    /**
+     * Creates one of the built in evaluators
+     * @param evalFunc - 0 material, 1 material and back rank, 2 also piece squares,
+     *                   3 weighted features with the default weights, 4 row patterns
+     * @return the evaluator
+     * @throws IllegalArgumentException if evalFunc isn't one of the built in evaluators
+     */
+    static Evaluator of(int evalFunc){
+        switch (evalFunc){
+            case 0:
+                return new MaterialEvaluator();
+            case 1:
+                return new BackRankEvaluator();
+            case 2:
+                return new PieceSquareEvaluator();
+            case 3:
+                return new WeightedEvaluator();
+            case 4:
+                return new PatternEvaluator();
+            default:
+                throw new IllegalArgumentException("no evaluator "+evalFunc+", expected 0 to 4");
+        }
+    }
+
+    /**
+     * Creates an evaluator from a command line argument
+     * @param spec - the number of a built in evaluator (see of(int)),
+     *               or 3:file for weighted features with the weights in a weights file (see WeightedEvaluator)
+     * @return the evaluator
+     * @throws IllegalArgumentException if spec isn't a built in evaluator or a weights file for eval 3
+     * @throws IOException if the weights file can't be read
+     */
+    static Evaluator of(String spec) throws IOException {
+        int colon = spec.indexOf(':');
+        if(colon<0){
+            return of(Integer.parseInt(spec.trim()));
+        }
+        if(!spec.substring(0,colon).trim().equals("3")){
+            throw new IllegalArgumentException("only eval 3 takes a weights file, got "+spec);
+        }
+        return WeightedEvaluator.load(Paths.get(spec.substring(colon+1)));
+    }
+}
@@ -0,0 +1,18 @@
+package checkers;
+
+/**
+ * Gives the board a heuristic score based on
+ * (amount of white pieces) - (amount of black pieces)
+ */
+public class MaterialEvaluator implements Evaluator {
+
+    @Override
+    public int evaluate(Board gameboard){
+        if(gameboard.isOver()!=0){
+            return Integer.MAX_VALUE*gameboard.isOver();
+        }
+        int whiteScore = gameboard.getWhitePieceCount();
+        int blackScore = gameboard.getBlackPieceCount();
+        return whiteScore-blackScore;
+    }
+}
@@ -0,0 +1,181 @@
+package checkers;
+
+/**
+ * Packs a move into a long so the engine never has to build or parse strings
+ * bits 0-31 hold the captured squares, bits 32-36 the starting square and bits 37-41 the ending square
+ * all squares are bitboard indexes (see Board.squareOf)
+ */
+public final class Move {
+
+    //  value used when there is no move (a real move that starts and ends on the same square is a king jumping in a circle, so it captures)
+    public static final long NONE = 0;
+
+    private Move(){}
+
+    /**
+     * Packs a move
+     * @param from - bitboard index of the starting square
+     * @param to - bitboard index of the ending square
+     * @param captures - bitboard of the pieces jumped
+     * @return packed move
+     */
+    public static long create(int from, int to, int captures){
+        return (captures&0xFFFFFFFFL)|((long)from<<32)|((long)to<<37);
+    }
+
+    public static int getFrom(long move){
+        return (int)(move>>>32)&31;
+    }
+
+    public static int getTo(long move){
+        return (int)(move>>>37)&31;
+    }
+
+    public static int getCaptures(long move){
+        return (int)move;
+    }
+
+    public static boolean isCapture(long move){
+        return (int)move!=0;
+    }
+
+    /**
+     * Converts a move to the notation players type (example: 34-43 or 45-27-9)
+     * @param move - packed move
+     * @return move as a string of squares
+     */
+    public static String toString(long move){
+
+        int from = Board.squareOf(getFrom(move));
+        int to = Board.squareOf(getTo(move));
+        if(!isCapture(move)){
+            return from+"-"+to;
+        }
+
+        //  rebuild the path the piece took from the captured squares
+        StringBuilder path = new StringBuilder();
+        findPath(from,to,getCaptures(move),path);
+        return path.toString();
+    }
+
+    /**
+     * Finds a legal move matching a string typed by a player,
+     * a jump can list its hops in any order that jumps the same pieces, not only the one toString writes
+     * @param text - move as a string of squares (example: 34-43)
+     * @param legalMoves - legal moves in the position
+     * @return the matching move or NONE if there isn't one
+     */
+    public static long parse(String text, MoveList legalMoves){
+        String[] words = text.trim().split("-");
+        if(words.length<2){
+            return NONE;
+        }
+        int[] squares = new int[words.length];
+        for(int i=0;i<words.length;i++){
+            try {
+                squares[i] = Integer.parseInt(words[i]);
+            }
+            catch (NumberFormatException e){
+                return NONE;
+            }
+            if(Board.indexOf(squares[i])<0){
+                return NONE;
+            }
+        }
+        for(int i=0;i<legalMoves.size();i++){
+            long move = legalMoves.get(i);
+            if(Board.squareOf(getFrom(move))!=squares[0]||Board.squareOf(getTo(move))!=squares[squares.length-1]){
+                continue;
+            }
+            if(isCapture(move)?isPath(squares,getCaptures(move)):squares.length==2){
+                return move;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Plays a line of moves typed by players from the starting position
+     * @param line - moves separated by spaces (example: 42-33 21-28)
+     * @return board after the moves
+     */
+    public static Board playLine(String line){
+        Board board = new Board();
+        MoveGenerator moveGenerator = new MoveGenerator();
+        for(String text : line.trim().split("\\s+")){
+            if(text.isEmpty()){
+                continue;
+            }
+            long move = parse(text,moveGenerator.moveGen(board));
+            if(move==NONE){
+                throw new IllegalArgumentException("illegal move "+text+" in "+line);
+            }
+            board = board.makeMove(move);
+        }
+        return board;
+    }
+
+    /**
+     * Checks that typed squares are a sequence of hops that jumps every captured piece exactly once
+     * @param squares - squares the piece lands on, starting with the square it starts on
+     * @param captures - bitboard of the pieces the move jumps
+     * @return true if the hops jump exactly the captured pieces
+     */
+    private static boolean isPath(int[] squares, int captures){
+        for(int i=1;i<squares.length;i++){
+            int x = squares[i-1]%8;
+            int y = squares[i-1]/8;
+            int dx = squares[i]%8-x;
+            int dy = squares[i]/8-y;
+            if(Math.abs(dx)!=2||Math.abs(dy)!=2){
+                return false;
+            }
+            int bit = 1<<Board.indexOf((y+dy/2)*8+x+dx/2);
+            if((captures&bit)==0){
+                return false;
+            }
+            captures &= ~bit;
+        }
+        return captures==0;
+    }
+
+    /**
+     * Searches for a sequence of hops that jumps exactly the captured squares
+     * @param square - current square of the piece
+     * @param to - square the piece has to end on
+     * @param captures - bitboard of pieces still to be jumped
+     * @param path - squares visited so far, completed path if one is found
+     * @return true if a path was found
+     */
+    private static boolean findPath(int square, int to, int captures, StringBuilder path){
+
+        int length = path.length();
+        path.append(length==0?"":"-").append(square);
+        if(captures==0){
+            if(square==to){
+                return true;
+            }
+            path.setLength(length);
+            return false;
+        }
+
+        //  try jumping in every direction (up left, up right, down left, down right)
+        int x = square%8;
+        int y = square/8;
+        int[] dx = {-1,1,-1,1};
+        int[] dy = {-1,-1,1,1};
+        for(int i=0;i<4;i++){
+            int landX = x+dx[i]*2;
+            int landY = y+dy[i]*2;
+            if(landX<0||landX>7||landY<0||landY>7){
+                continue;
+            }
+            int bit = 1<<Board.indexOf((y+dy[i])*8+x+dx[i]);
+            if((captures&bit)!=0&&findPath(landY*8+landX,to,captures&~bit,path)){
+                return true;
+            }
+        }
+        path.setLength(length);
+        return false;
+    }
+}
@@ -0,0 +1,188 @@
+package checkers;
+
+public class MoveGenerator {
+
+    //  directions are 0 = up left, 1 = up right, 2 = down left, 3 = down right
+    //  white men move up (0-1), black men move down (2-3) and kings move both ways (0-3)
+
+    //  bitboard index of the square next to each square in each direction (square*4+direction), -1 if off the board
+    private static final int[] NEIGHBOURS = new int[128];
+
+    //  bitboard index of the square landed on when jumping from each square in each direction, -1 if off the board
+    private static final int[] JUMPS = new int[128];
+
+    static {
+        int[] dx = {-1,1,-1,1};
+        int[] dy = {-1,-1,1,1};
+        for(int index=0;index<32;index++){
+            int square = Board.squareOf(index);
+            int x = square%8;
+            int y = square/8;
+            for(int direction=0;direction<4;direction++){
+                NEIGHBOURS[index*4+direction] = onBoard(x+dx[direction],y+dy[direction]);
+                JUMPS[index*4+direction] = onBoard(x+2*dx[direction],y+2*dy[direction]);
+            }
+        }
+    }
+
+    //  most pieces one move can jump, one more than this is the deepest a jump search can go
+    private static final int MAX_JUMPS = 12;
+
+    //  stack used to search for multi jumps, each level is one hop of the move
+    private final int[] stackSquare = new int[MAX_JUMPS+1];
+    private final int[] stackCaptures = new int[MAX_JUMPS+1];
+    private final int[] stackDirection = new int[MAX_JUMPS+1];
+    private final boolean[] stackHopped = new boolean[MAX_JUMPS+1];
+
+    /**
+     * Generates a list of legal moves for given state
+     * @param board - state of the board
+     * @return list of legal moves
+     */
+    public MoveList moveGen(Board board){
+        MoveList moveList = new MoveList();
+        this.moveGen(board,moveList);
+        return moveList;
+    }
+
+    /**
+     * Generates the legal moves for given state into an existing list
+     * @param board - state of the board
+     * @param moveList - list to fill, anything already in it is cleared
+     */
+    public void moveGen(Board board, MoveList moveList){
+
+        //  reuse list to hold moves
+        moveList.clear();
+
+        //  generate all jump moves
+        this.genJumpMoves(board,moveList);
+
+        //  generate other moves if no jump moves exsist
+        if(moveList.size()==0){
+            this.genRegMoves(board,moveList);
+        }
+    }
+
+    /**
+     * Generates all legal jump moves
+     * @param gameboard - state of board
+     * @param moves - list legal jump moves are added to
+     */
+    private void genJumpMoves(Board gameboard, MoveList moves){
+
+        //  get data from game board
+        int turn = gameboard.getTurn();
+        int pieces = turn>0?gameboard.getWhitePieces():gameboard.getBlackPieces();
+        int enemies = turn>0?gameboard.getBlackPieces():gameboard.getWhitePieces();
+        int empty = gameboard.getEmpty();
+        int kings = gameboard.getKings();
+
+        //  for every piece of the player to move
+        while(pieces!=0){
+            int index = Integer.numberOfTrailingZeros(pieces);
+            pieces &= pieces-1;
+
+            //  find every jump sequence this piece can make
+            boolean isKing = (kings&(1<<index))!=0;
+            int firstDirection = isKing||turn>0?0:2;
+            int lastDirection = isKing||turn<0?4:2;
+            this.genJumpsFrom(index,firstDirection,lastDirection,enemies,empty|(1<<index),moves);
+        }
+    }
+
+    /**
+     * Finds every jump sequence for one piece with a depth first search over the jump stack
+     * captured pieces stay on the board until the move is over but can't be jumped twice
+     * @param from - bitboard index of the piece
+     * @param firstDirection - first direction the piece can move in
+     * @param lastDirection - one past the last direction the piece can move in
+     * @param enemies - bitboard of the other players pieces
+     * @param empty - bitboard of empty squares (including the square the piece starts on)
+     * @param moves - list legal jump moves are added to
+     */
+    private void genJumpsFrom(int from, int firstDirection, int lastDirection, int enemies, int empty, MoveList moves){
+
+        //  start at the square the piece is on
+        int top = 0;
+        this.stackSquare[0] = from;
+        this.stackCaptures[0] = 0;
+        this.stackDirection[0] = firstDirection;
+        this.stackHopped[0] = false;
+
+        while(top>=0){
+            int square = this.stackSquare[top];
+            int direction = this.stackDirection[top];
+
+            //  try the next direction from this square
+            if(direction<lastDirection){
+                this.stackDirection[top]++;
+                int over = NEIGHBOURS[square*4+direction];
+                int land = JUMPS[square*4+direction];
+                int captures = this.stackCaptures[top];
+                if(land>=0&&((enemies&~captures)&(1<<over))!=0&&(empty&(1<<land))!=0){
+
+                    //  hop and keep looking for jumps from the new square
+                    this.stackHopped[top] = true;
+                    top++;
+                    this.stackSquare[top] = land;
+                    this.stackCaptures[top] = captures|(1<<over);
+                    this.stackDirection[top] = firstDirection;
+                    this.stackHopped[top] = false;
+                }
+                continue;
+            }
+
+            //  every direction is tried, if no hop was possible the move ends here
+            if(top>0&&!this.stackHopped[top]){
+
+                //  different paths over the same pieces end in the same position
+                long move = Move.create(from,square,this.stackCaptures[top]);
+                if(!moves.contains(move)){
+                    moves.add(move);
+                }
+            }
+            top--;
+        }
+    }
+
+    /**
+     * Generates all legal single square moves
+     * @param gameboard - state of board
+     * @param moves - list legal single square moves are added to
+     */
+    private void genRegMoves(Board gameboard, MoveList moves){
+
+        //  get board state and game turn
+        int turn = gameboard.getTurn();
+        int pieces = turn>0?gameboard.getWhitePieces():gameboard.getBlackPieces();
+        int empty = gameboard.getEmpty();
+        int kings = gameboard.getKings();
+
+        //  for every piece of the player to move
+        while(pieces!=0){
+            int index = Integer.numberOfTrailingZeros(pieces);
+            pieces &= pieces-1;
+
+            //  move to every empty neighbouring square the piece can move to
+            boolean isKing = (kings&(1<<index))!=0;
+            int lastDirection = isKing||turn<0?4:2;
+            for(int direction=isKing||turn>0?0:2;direction<lastDirection;direction++){
+                int to = NEIGHBOURS[index*4+direction];
+                if(to>=0&&(empty&(1<<to))!=0){
+                    moves.add(Move.create(index,to,0));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return bitboard index of the square at x,y or -1 if it's off the board
+     */
+    private static int onBoard(int x, int y){
+        if(x<0||x>7||y<0||y>7){
+            return -1;
+        }
+        return Board.indexOf(y*8+x);
+    }
+}
@@ -0,0 +1,62 @@
+package checkers;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of packed moves (see Move) that can be cleared and reused without allocating
+ */
+public class MoveList {
+
+    //  packed moves, only the first size entries are used
+    private long[] moves;
+    private int size;
+
+    public MoveList(){
+        this.moves = new long[32];
+        this.size = 0;
+    }
+
+    public void add(long move){
+        if(this.size==this.moves.length){
+            this.moves = Arrays.copyOf(this.moves,this.size*2);
+        }
+        this.moves[this.size++] = move;
+    }
+
+    public long get(int index){
+        return this.moves[index];
+    }
+
+    public void set(int index, long move){
+        this.moves[index] = move;
+    }
+
+    public int size(){
+        return this.size;
+    }
+
+    public void clear(){
+        this.size = 0;
+    }
+
+    public boolean contains(long move){
+        for(int i=0;i<this.size;i++){
+            if(this.moves[i]==move){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return moves in the notation players type (example: [34-43, 36-45])
+     */
+    @Override
+    public String toString(){
+        StringBuilder text = new StringBuilder("[");
+        for(int i=0;i<this.size;i++){
+            text.append(i==0?"":", ").append(Move.toString(this.moves[i]));
+        }
+        return text.append("]").toString();
+    }
+}
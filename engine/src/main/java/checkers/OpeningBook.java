@@ -0,0 +1,90 @@
+package checkers;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Best moves of the positions near the start of the game, read from a file written by OpeningBookBuilder
+ * the file is memory mapped and binary searched so looking up a position takes microseconds
+ *
+ * File layout (big endian):
+ *   int magic, int version, long amount of entries,
+ *   entries of long position hash (see Board.getHash) and long move (see Move) sorted by hash,
+ *   a position with several equally good moves has an entry for each
+ */
+public class OpeningBook {
+
+    //  start of every opening book file
+    static final int MAGIC = 0x434B4F42;
+    static final int VERSION = 1;
+
+    //  bytes before the first entry and bytes in each entry
+    static final int HEADER_SIZE = 16;
+    static final int ENTRY_SIZE = 16;
+
+    //  the whole file
+    private MappedByteBuffer data;
+
+    //  amount of entries
+    private int size;
+
+    /**
+     * Maps an opening book file into memory
+     * @param file - file written by OpeningBookBuilder
+     * @throws IOException if the file can't be read or isn't an opening book
+     */
+    public OpeningBook(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,StandardOpenOption.READ)){
+            if(channel.size()>Integer.MAX_VALUE){
+                throw new IOException("opening book is too large to map: "+file);
+            }
+            this.data = channel.map(FileChannel.MapMode.READ_ONLY,0,channel.size());
+        }
+        if(this.data.capacity()<HEADER_SIZE||this.data.getInt(0)!=MAGIC||this.data.getInt(4)!=VERSION||
+           this.data.getLong(8)!=(this.data.capacity()-HEADER_SIZE)/ENTRY_SIZE){
+            throw new IOException("not an opening book: "+file);
+        }
+        this.size = (int)this.data.getLong(8);
+    }
+
+    /**
+     * @return amount of moves in the book
+     */
+    public int size(){
+        return this.size;
+    }
+
+    /**
+     * Looks up the best moves of a position
+     * @param hash - hash of the position (see Board.getHash)
+     * @param moves - filled with the book moves of the position, empty if it isn't in the book
+     */
+    public void probe(long hash, MoveList moves){
+        moves.clear();
+
+        //  find the first entry with the hash
+        int low = 0;
+        int high = this.size;
+        while(low<high){
+            int middle = (low+high)>>>1;
+            if(this.getHash(middle)<hash){
+                low = middle+1;
+            }
+            else {
+                high = middle;
+            }
+        }
+
+        //  every entry with the hash is a move of the position
+        for(int i=low;i<this.size&&this.getHash(i)==hash;i++){
+            moves.add(this.data.getLong(HEADER_SIZE+i*ENTRY_SIZE+8));
+        }
+    }
+
+    private long getHash(int entry){
+        return this.data.getLong(HEADER_SIZE+entry*ENTRY_SIZE);
+    }
+}
@@ -0,0 +1,141 @@
+package checkers;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+
+/**
+ * Builds an opening book (see OpeningBook) by searching every position reachable in the first few plies deeply,
+ * both sides play every legal move so the book covers any opening the opponent picks
+ *
+ * Run with:
+ *   java -cp engine/target/checkers.jar checkers.OpeningBookBuilder [plies] [depth] [eval] [file]
+ */
+public class OpeningBookBuilder {
+
+    //  positions this many plies from the start are the last ones searched
+    private final int plies;
+
+    //  searches every position
+    private final AI ai;
+
+    //  best moves of every position searched by hash
+    private final HashMap<Long,long[]> book;
+
+    /**
+     * Told when every ply of the book has been searched, see build
+     */
+    public interface Progress {
+
+        /**
+         * @param ply - plies from the start of the positions just searched
+         * @param positions - how many positions that ply had
+         */
+        void plySearched(int ply, int positions);
+    }
+
+    /**
+     * Creates a builder for an opening book
+     * @param plies - how many plies from the start the book covers
+     * @param ai - AI that finds the best moves of each position
+     */
+    public OpeningBookBuilder(int plies, AI ai){
+        this.plies = plies;
+        this.ai = ai;
+        this.book = new HashMap<>();
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        int plies = args.length>0?Integer.parseInt(args[0]):4;
+        int depth = args.length>1?Integer.parseInt(args[1]):12;
+        Evaluator evaluator = Evaluator.of(args.length>2?args[2]:"1");
+        Path file = Paths.get(args.length>3?args[3]:"book.bin");
+
+        long start = System.currentTimeMillis();
+        AI ai = new AI(depth,evaluator);
+        ai.setThreads(Runtime.getRuntime().availableProcessors());
+        OpeningBookBuilder builder = new OpeningBookBuilder(plies,ai);
+        builder.build((ply,positions) -> System.out.printf("ply %d: %d positions%n",ply,positions));
+        int moves = builder.write(file);
+        System.out.printf("Wrote %d moves of %d positions to %s in %.1fs%n",moves,builder.book.size(),file,
+                (System.currentTimeMillis()-start)/1000.0);
+    }
+
+    /**
+     * Searches every position up to the given amount of plies from the start, one ply at a time
+     */
+    public void build(){
+        this.build((ply,positions) -> {});
+    }
+
+    /**
+     * Searches every position up to the given amount of plies from the start, one ply at a time
+     * @param progress - told after every ply, on the calling thread
+     */
+    public void build(Progress progress){
+        MoveGenerator moveGenerator = new MoveGenerator();
+        MoveList bestMoves = new MoveList();
+        ArrayList<Board> positions = new ArrayList<>();
+        positions.add(new Board());
+        for(int ply=0;ply<this.plies;ply++){
+            ArrayList<Board> next = new ArrayList<>();
+            HashSet<Long> seen = new HashSet<>();
+            for(Board board : positions){
+
+                //  store every move as good as the best one so the AI can pick between them
+                this.ai.getBestMoves(board,bestMoves);
+                long[] moves = new long[bestMoves.size()];
+                for(int i=0;i<moves.length;i++){
+                    moves[i] = bestMoves.get(i);
+                }
+                this.book.put(board.getHash(),moves);
+
+                //  the opponent can answer with anything
+                MoveList legalMoves = moveGenerator.moveGen(board);
+                for(int i=0;i<legalMoves.size();i++){
+                    Board child = board.makeMove(legalMoves.get(i));
+                    if(!this.book.containsKey(child.getHash())&&seen.add(child.getHash())){
+                        next.add(child);
+                    }
+                }
+            }
+            progress.plySearched(ply,positions.size());
+            positions = next;
+        }
+    }
+
+    /**
+     * Writes the book sorted by position hash
+     * @param file - where to write the book
+     * @return amount of moves written
+     * @throws IOException if the file can't be written
+     */
+    public int write(Path file) throws IOException {
+        Long[] hashes = this.book.keySet().toArray(new Long[0]);
+        Arrays.sort(hashes);
+        int count = 0;
+        for(long[] moves : this.book.values()){
+            count += moves.length;
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file),1<<16))){
+            out.writeInt(OpeningBook.MAGIC);
+            out.writeInt(OpeningBook.VERSION);
+            out.writeLong(count);
+            for(Long hash : hashes){
+                for(long move : this.book.get(hash)){
+                    out.writeLong(hash);
+                    out.writeLong(move);
+                }
+            }
+        }
+        return count;
+    }
+}
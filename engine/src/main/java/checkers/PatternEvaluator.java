@@ -0,0 +1,95 @@
+package checkers;
+
+/**
+ * Scores a position with one table lookup per row of the board:
+ * the white, black and king bits of the 4 squares of a row are packed into a 12 bit index (kings, black, white)
+ * and the table of that row holds the score of every way the row can be filled in, worked out once up front
+ * so any amount of knowledge about single rows costs the same 8 lookups as counting material
+ *
+ * The tables hold the weighted features of a WeightedEvaluator, which are all sums over single squares,
+ * plus patterns only a whole row can show: a bridge of two men on the back rank with a gap between them,
+ * which keeps the opponent from crowning for a long time with only two men
+ */
+public class PatternEvaluator implements Evaluator {
+
+    //  bonus for keeping a bridge on the back rank, in the units of the default weights (16 per man)
+    public static final int DEFAULT_BRIDGE = 4;
+
+    //  squares of the back rank bridges, on row 7 for white and row 0 for black (mirror images of each other)
+    private static final int WHITE_BRIDGE = 0xA0000000;
+    private static final int BLACK_BRIDGE = 0x00000005;
+
+    //  4096 scores for each of the 8 rows from whites point of view, indexed by row<<12|kings<<8|black<<4|white,
+    //  in the fixed point of the weights so the sum of the rows is rounded once like WeightedEvaluator does
+    private final int[] table;
+
+    /**
+     * Creates an evaluator with the default weights and patterns
+     */
+    public PatternEvaluator(){
+        this(new WeightedEvaluator(),DEFAULT_BRIDGE);
+    }
+
+    /**
+     * Creates an evaluator from weights, for example ones tuned by EvaluationTuner
+     * @param weights - weights of the features that are sums over squares
+     * @param bridge - bonus for a bridge on the back rank
+     */
+    public PatternEvaluator(WeightedEvaluator weights, int bridge){
+        this.table = new int[8<<12];
+        int[] w = weights.getFixedWeights();
+        for(int row=0;row<8;row++){
+            for(int index=0;index<4096;index++){
+                int white = (index&15)<<(row*4);
+                int black = ((index>>4)&15)<<(row*4);
+                int kings = ((index>>8)&15)<<(row*4);
+
+                //  rows with a square taken by both sides can't happen
+                if((white&black)!=0){
+                    continue;
+                }
+                int score = 0;
+                for(int square=row*4;square<row*4+4;square++){
+                    int bit = 1<<square;
+                    int side = (white&bit)!=0?1:(black&bit)!=0?-1:0;
+                    if(side==0){
+                        continue;
+                    }
+                    boolean king = (kings&bit)!=0;
+                    score += side*(king?w[WeightedEvaluator.KINGS]:w[WeightedEvaluator.MEN]);
+                    score += side*w[WeightedEvaluator.PIECE_SQUARE]*Board.PIECE_SQUARE[(side==1?0:2)+(king?1:0)][square];
+                    if(!king&&(bit&(side==1?Board.WHITE_BACK_RANK:Board.BLACK_BACK_RANK))!=0){
+                        score += side*w[WeightedEvaluator.BACK_RANK];
+                    }
+                    if((bit&WeightedEvaluator.CENTRE_SQUARES)!=0){
+                        score += side*w[WeightedEvaluator.CENTRE];
+                    }
+                }
+                if((white&~kings&WHITE_BRIDGE)==WHITE_BRIDGE){
+                    score += bridge*WeightedEvaluator.WEIGHT_ONE;
+                }
+                if((black&~kings&BLACK_BRIDGE)==BLACK_BRIDGE){
+                    score -= bridge*WeightedEvaluator.WEIGHT_ONE;
+                }
+                this.table[(row<<12)|index] = score;
+            }
+        }
+    }
+
+    @Override
+    public int evaluate(Board gameboard){
+        if(gameboard.isOver()!=0){
+            return Integer.MAX_VALUE*gameboard.isOver();
+        }
+        int white = gameboard.getWhitePieces();
+        int black = gameboard.getBlackPieces();
+        int kings = gameboard.getKings();
+        int[] table = this.table;
+        int score = 0;
+        for(int row=0;row<8;row++){
+            int shift = row*4;
+            score += table[(row<<12)|(((kings>>>shift)&15)<<8)|(((black>>>shift)&15)<<4)|((white>>>shift)&15)];
+        }
+        return score/WeightedEvaluator.WEIGHT_ONE;
+    }
+}
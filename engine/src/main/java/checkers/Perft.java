@@ -0,0 +1,119 @@
+package checkers;
+
+/**
+ * Counts every position reachable in a given amount of plies, used to check the move generator
+ * against known counts and to time it on its own
+ *
+ * Run with:
+ *   java -cp engine/target/checkers.jar checkers.Perft [depth] [divide] [moves from the starting position]
+ */
+public class Perft {
+
+    //  known counts from the starting position for depths 0 to 13
+    static final long[] START_COUNTS = {
+        1L, 7L, 49L, 302L, 1469L, 7361L, 36768L, 179740L, 845931L,
+        3963680L, 18391564L, 85242128L, 388623673L, 1766623630L,
+    };
+
+    //  used to generate legal moves in a given game position
+    private MoveGenerator moveGenerator;
+
+    //  one reusable move list for every ply
+    private MoveList[] moveLists;
+
+    public Perft(int depth){
+        this.moveGenerator = new MoveGenerator();
+        this.moveLists = new MoveList[Math.max(1,depth)];
+        for(int i=0;i<this.moveLists.length;i++){
+            this.moveLists[i] = new MoveList();
+        }
+    }
+
+    public static void main(String[] args){
+
+        int depth;
+        try{
+            depth = args.length>0?Integer.parseInt(args[0]):8;
+        }
+        catch(NumberFormatException e){
+            depth = -1;
+        }
+        boolean divide = args.length>1&&args[1].equals("divide");
+
+        //  divide splits the count up by the first ply so it needs at least one
+        if(depth<(divide?1:0)){
+            System.err.println("Usage: checkers.Perft [depth] [divide] [moves from the starting position]");
+            System.err.println("depth has to be a number of plies, at least 1 with divide and at least 0 without");
+            System.exit(2);
+        }
+        StringBuilder line = new StringBuilder();
+        for(int i=divide?2:1;i<args.length;i++){
+            line.append(args[i]).append(" ");
+        }
+        Board board = Move.playLine(line.toString());
+        Perft perft = new Perft(depth);
+
+        //  count of every root move on its own
+        if(divide){
+            long start = System.nanoTime();
+            long total = 0;
+            MoveList moves = perft.moveGenerator.moveGen(board);
+            for(int i=0;i<moves.size();i++){
+                board.make(moves.get(i));
+                long count = perft.count(board,depth-1);
+                board.unmake();
+                System.out.printf("%-12s %d%n",Move.toString(moves.get(i)),count);
+                total += count;
+            }
+            double seconds = (System.nanoTime()-start)/1e9;
+            System.out.printf("Total %d %.3fs %.0f nodes per second%n",total,seconds,total/Math.max(seconds,1e-9));
+            return;
+        }
+
+        //  count every depth up to the one asked for and check the known counts from the start
+        boolean fromStart = line.toString().trim().isEmpty();
+        boolean passed = true;
+        for(int i=Math.min(1,depth);i<=depth;i++){
+            long start = System.nanoTime();
+            long count = perft.count(board,i);
+            double seconds = (System.nanoTime()-start)/1e9;
+            String check = "";
+            if(fromStart&&i<START_COUNTS.length){
+                check = count==START_COUNTS[i]?" ok":" expected "+START_COUNTS[i];
+                passed &= count==START_COUNTS[i];
+            }
+            System.out.printf("depth %2d %14d %8.3fs %12.0f nodes per second%s%n",i,count,seconds,count/Math.max(seconds,1e-9),check);
+        }
+        if(!passed){
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Counts the positions reachable from a position
+     * @param board - position to count from, moves are made and unmade on it in place
+     * @param depth - how many plies to look ahead
+     * @return amount of positions exactly depth plies ahead
+     */
+    public long count(Board board, int depth){
+
+        if(depth==0){
+            return 1;
+        }
+
+        //  the last ply only needs the amount of moves
+        MoveList moves = this.moveLists[depth-1];
+        this.moveGenerator.moveGen(board,moves);
+        if(depth==1){
+            return moves.size();
+        }
+
+        long count = 0;
+        for(int i=0;i<moves.size();i++){
+            board.make(moves.get(i));
+            count += this.count(board,depth-1);
+            board.unmake();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,19 @@
+package checkers;
+
+/**
+ * Gives the board a heuristic score based on the BackRankEvaluator score
+ * plus how far the men have advanced and how central the pieces are (see Board.getPieceSquareScore)
+ * in sixteenths of the BackRankEvaluator score
+ */
+public class PieceSquareEvaluator implements Evaluator {
+
+    @Override
+    public int evaluate(Board gameboard){
+        if(gameboard.isOver()!=0){
+            return Integer.MAX_VALUE*gameboard.isOver();
+        }
+        int whiteScore = (gameboard.getWhiteBackRankCount()+gameboard.getWhiteKingCount()+gameboard.getWhitePieceCount());
+        int blackScore = (gameboard.getBlackBackRankCount()+gameboard.getBlackKingCount()+gameboard.getBlackPieceCount());
+        return 16*(whiteScore-blackScore)+gameboard.getPieceSquareScore();
+    }
+}
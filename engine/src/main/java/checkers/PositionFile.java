@@ -0,0 +1,232 @@
+package checkers;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * File of scored positions from finished games, made of RECORD_BYTES byte records one after another and nothing else,
+ * so files can be appended to by later runs and joined by concatenating them:
+ *   int    white pieces (see Board.squareOf)
+ *   int    black pieces
+ *   int    kings
+ *   short  search score from whites point of view (clamped to a short)
+ *   byte   result of the game, 1 if white won, -1 if black won, 0 for a draw
+ *   byte   side to move, 1 for white, -1 for black
+ */
+public final class PositionFile {
+
+    public static final int RECORD_BYTES = 16;
+
+    //  records are moved to and from the channel this many at a time
+    private static final int BUFFER_RECORDS = 1<<16;
+
+    private PositionFile(){}
+
+    /**
+     * @param file - a position file
+     * @return amount of records in the file
+     * @throws IOException if the file can't be read
+     */
+    public static long size(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,StandardOpenOption.READ)){
+            return channel.size()/RECORD_BYTES;
+        }
+    }
+
+    /**
+     * Appends records to the end of a file, creating it if needed
+     * games are added whole so a file never holds part of a game, even if the writer is used by many threads
+     */
+    public static class Writer implements Closeable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        /**
+         * @param file - file to append to
+         * @throws IOException if the file can't be opened
+         */
+        public Writer(Path file) throws IOException {
+            this.channel = FileChannel.open(file,StandardOpenOption.CREATE,StandardOpenOption.WRITE,StandardOpenOption.APPEND);
+            this.buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS*RECORD_BYTES);
+        }
+
+        /**
+         * Adds every position of a game
+         * @param positions - the positions in the order they were played, each packed with pack
+         * @param scores - search score of each position from whites point of view
+         * @param count - how many positions to add
+         * @param result - result of the game, 1 if white won, -1 if black won, 0 for a draw
+         * @throws IOException if the file can't be written
+         */
+        public synchronized void writeGame(long[] positions, int[] scores, int count, int result) throws IOException {
+            for(int i=0;i<count;i++){
+                if(this.buffer.remaining()<RECORD_BYTES){
+                    this.flush();
+                }
+                long position = positions[i*2];
+                int kings = (int)positions[i*2+1];
+                int turn = (int)(positions[i*2+1]>>>32);
+                this.buffer.putLong(position);
+                this.buffer.putInt(kings);
+                this.buffer.putShort((short)Math.max(Short.MIN_VALUE,Math.min(Short.MAX_VALUE,scores[i])));
+                this.buffer.put((byte)result);
+                this.buffer.put((byte)turn);
+            }
+        }
+
+        /**
+         * Writes the buffered records to the file
+         * @throws IOException if the file can't be written
+         */
+        public synchronized void flush() throws IOException {
+            this.buffer.flip();
+            while(this.buffer.hasRemaining()){
+                this.channel.write(this.buffer);
+            }
+            this.buffer.clear();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            try {
+                this.flush();
+            }
+            finally {
+                this.channel.close();
+            }
+        }
+
+        /**
+         * Packs a position into two longs the way writeGame reads them
+         * @param board - the position
+         * @param into - filled at index and index+1
+         * @param index - where the position goes
+         */
+        public static void pack(Board board, long[] into, int index){
+            into[index] = ((long)board.getWhitePieces()<<32)|(board.getBlackPieces()&0xFFFFFFFFL);
+            into[index+1] = ((long)board.getTurn()<<32)|(board.getKings()&0xFFFFFFFFL);
+        }
+    }
+
+    /**
+     * Reads the records of a file, or of a range of them, one at a time
+     */
+    public static class Reader implements Closeable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        //  file offset of the next record to read into the buffer and of the end of the range
+        private long offset;
+        private final long end;
+
+        //  the record read by the last call to next
+        private int white;
+        private int black;
+        private int kings;
+        private int score;
+        private int result;
+        private int turn;
+
+        /**
+         * Reads every record of a file
+         * @param file - a position file
+         * @throws IOException if the file can't be opened
+         */
+        public Reader(Path file) throws IOException {
+            this(file,0,Long.MAX_VALUE);
+        }
+
+        /**
+         * Reads the records from first up to but not including last, so a file can be split between threads
+         * @param file - a position file
+         * @param first - index of the first record to read
+         * @param last - index after the last record to read, past the end of the file reads to the end
+         * @throws IOException if the file can't be opened
+         */
+        public Reader(Path file, long first, long last) throws IOException {
+            this.channel = FileChannel.open(file,StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS*RECORD_BYTES);
+            this.buffer.limit(0);
+            this.offset = first*RECORD_BYTES;
+            this.end = Math.min(this.channel.size()/RECORD_BYTES,last)*RECORD_BYTES;
+        }
+
+        /**
+         * Moves to the next record
+         * @return false if there are no more records
+         * @throws IOException if the file can't be read
+         */
+        public boolean next() throws IOException {
+            if(this.buffer.remaining()<RECORD_BYTES){
+                if(this.offset>=this.end){
+                    return false;
+                }
+                this.buffer.clear();
+                this.buffer.limit((int)Math.min(this.buffer.capacity(),this.end-this.offset));
+                while(this.buffer.hasRemaining()){
+                    if(this.channel.read(this.buffer,this.offset+this.buffer.position())<0){
+                        throw new IOException("position file ended early");
+                    }
+                }
+                this.offset += this.buffer.limit();
+                this.buffer.flip();
+            }
+            this.white = this.buffer.getInt();
+            this.black = this.buffer.getInt();
+            this.kings = this.buffer.getInt();
+            this.score = this.buffer.getShort();
+            this.result = this.buffer.get();
+            this.turn = this.buffer.get();
+            return true;
+        }
+
+        public int getWhitePieces(){
+            return this.white;
+        }
+
+        public int getBlackPieces(){
+            return this.black;
+        }
+
+        public int getKings(){
+            return this.kings;
+        }
+
+        /**
+         * @return search score from whites point of view
+         */
+        public int getScore(){
+            return this.score;
+        }
+
+        /**
+         * @return 1 if white won the game, -1 if black won, 0 for a draw
+         */
+        public int getResult(){
+            return this.result;
+        }
+
+        public int getTurn(){
+            return this.turn;
+        }
+
+        /**
+         * Sets a board to the position of the last record read
+         * @param board - board to reuse
+         */
+        public void getPosition(Board board){
+            board.setPosition(this.white,this.black,this.kings,this.turn);
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.channel.close();
+        }
+    }
+}
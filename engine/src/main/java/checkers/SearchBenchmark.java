@@ -0,0 +1,82 @@
+package checkers;
+
+/**
+ * Compares the single threaded search against the parallel search on a few fixed positions
+ * and prints the time taken, nodes searched and speedup of each,
+ * or with pvs compares plain alpha beta against principal variation search on the given threads
+ *
+ * Run with:
+ *   java -cp engine/target/checkers.jar checkers.SearchBenchmark [threads] [depth] [pvs]
+ */
+public class SearchBenchmark {
+
+    //  moves played from the starting position to reach each test position
+    private static final String[] POSITIONS = {
+        "",
+        "42-33 21-28 46-39 14-21 55-46 7-14",
+        "42-33 17-26 46-39 10-17 33-24 26-35 24-10 3-17 44-26 17-35 51-44 19-26",
+        "42-33 21-28 46-39 14-21 55-46 7-14 44-35 28-42 49-35 23-30 33-24 30-37 46-28 19-37 53-44 10-19",
+    };
+
+    public static void main(String[] args){
+
+        int threads = args.length>0?Integer.parseInt(args[0]):Runtime.getRuntime().availableProcessors();
+        int depth = args.length>1?Integer.parseInt(args[1]):10;
+        boolean comparePvs = args.length>2&&args[2].equals("pvs");
+
+        //  the first search is the baseline, the second is the one being measured
+        int baseThreads = comparePvs?threads:1;
+        if(comparePvs){
+            System.out.printf("Depth %d, %d threads, alpha beta vs principal variation search%n",depth,threads);
+        }
+        else {
+            System.out.printf("Depth %d, 1 thread vs %d threads%n",depth,threads);
+        }
+
+        //  warm up the JIT so the first position isn't slower than the rest
+        for(int i=0;i<3;i++){
+            time(new Board(),depth-2,baseThreads,!comparePvs);
+            time(new Board(),depth-2,threads,true);
+        }
+
+        long singleTotal = 0;
+        long parallelTotal = 0;
+        long singleNodes = 0;
+        long parallelNodes = 0;
+        for(int i=0;i<POSITIONS.length;i++){
+            Board board = Move.playLine(POSITIONS[i]);
+
+            //  time both searches with the same seed so ties are broken the same way
+            long[] single = time(board,depth,baseThreads,!comparePvs);
+            long[] parallel = time(board,depth,threads,true);
+            singleTotal += single[1];
+            parallelTotal += parallel[1];
+            singleNodes += single[2];
+            parallelNodes += parallel[2];
+
+            System.out.printf("position %d: %6s %6dms %10d nodes %5.1f%% first move cutoffs | %6s %6dms %10d nodes | %.2fx%s%n",i,
+                    Move.toString(single[0]),single[1],single[2],single[3]/10.0,
+                    Move.toString(parallel[0]),parallel[1],parallel[2],
+                    single[1]/(double)Math.max(1,parallel[1]),
+                    single[0]==parallel[0]?"":" (different move)");
+        }
+        System.out.printf("Total speedup %.2fx, %.1f%% of the nodes%n",singleTotal/(double)Math.max(1,parallelTotal),
+                parallelNodes*100.0/Math.max(1,singleNodes));
+    }
+
+    /**
+     * Searches a position with a new AI
+     * @param pvs - false to search with plain alpha beta
+     * @return move found, milliseconds taken, nodes searched and first move cutoff rate in tenths of a percent
+     */
+    private static long[] time(Board board, int depth, int threads, boolean pvs){
+        AI ai = new AI(depth,1);
+        ai.setThreads(threads);
+        ai.setPrincipalVariationSearch(pvs);
+        ai.setSeed(1);
+        long start = System.nanoTime();
+        long move = ai.getMove(board);
+        long millis = (System.nanoTime()-start)/1000000;
+        return new long[]{move,millis,ai.getNodeCount(),Math.round(ai.getFirstMoveCutoffRate()*1000)};
+    }
+}
@@ -0,0 +1,73 @@
+package checkers;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Percentage;
+
+/**
+ * Flight recorder event for every call to AI.getMove or AI.analyse, recorded with
+ *   java -XX:StartFlightRecording=filename=search.jfr ...
+ */
+@Name("checkers.Search")
+@Label("Search")
+@Category("Checkers")
+@Description("Best moves found for one position")
+class SearchEvent extends Event {
+
+    @Label("Source")
+    @Description("Where the best moves came from")
+    String source;
+
+    @Label("Depth")
+    int depth;
+
+    @Label("Nodes")
+    long nodes;
+
+    @Label("Quiescence Nodes")
+    long quiescenceNodes;
+
+    @Label("Nodes per Second")
+    long nodesPerSecond;
+
+    @Label("Beta Cutoffs")
+    long betaCutoffs;
+
+    @Label("First Move Cutoff Rate")
+    @Percentage
+    double firstMoveCutoffRate;
+
+    @Label("Branching Factor")
+    double branchingFactor;
+
+    @Label("Hash Hit Rate")
+    @Percentage
+    double hashHitRate;
+
+    @Label("Tablebase Hits")
+    long tablebaseHits;
+
+    @Label("Best Moves")
+    @Description("How many moves were as good as the best one, or how many were analysed")
+    int bestMoves;
+
+    /**
+     * Fills the event from the statistics of a search
+     */
+    void set(SearchStatistics statistics, int bestMoves){
+        this.source = statistics.getSource().name();
+        this.depth = statistics.getDepth();
+        this.nodes = statistics.getNodes();
+        this.quiescenceNodes = statistics.getQuiescenceNodes();
+        this.nodesPerSecond = statistics.getNodesPerSecond();
+        this.betaCutoffs = statistics.getBetaCutoffs();
+        this.firstMoveCutoffRate = statistics.getFirstMoveCutoffRate();
+        this.branchingFactor = statistics.getBranchingFactor();
+        this.hashHitRate = statistics.getHashHitRate();
+        this.tablebaseHits = statistics.getTablebaseHits();
+        this.bestMoves = bestMoves;
+    }
+}
@@ -0,0 +1,28 @@
+package checkers;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for every finished iteration of a search, its duration is the time the iteration took
+ */
+@Name("checkers.SearchIteration")
+@Label("Search Iteration")
+@Category("Checkers")
+@Description("One iteration of iterative deepening")
+class SearchIterationEvent extends Event {
+
+    @Label("Depth")
+    int depth;
+
+    @Label("Nodes")
+    @Description("Positions searched by this iteration")
+    long nodes;
+
+    @Label("Pondering")
+    @Description("Searched while the opponent was thinking")
+    boolean pondering;
+}
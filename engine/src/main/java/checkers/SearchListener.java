@@ -0,0 +1,13 @@
+package checkers;
+
+/**
+ * Told about every move an AI picks and every position it analyses, see AI.addSearchListener
+ */
+public interface SearchListener {
+
+    /**
+     * Called on the thread that called AI.getMove or AI.analyse once the best moves are known
+     * @param statistics - what the search did
+     */
+    void searchFinished(SearchStatistics statistics);
+}
@@ -0,0 +1,132 @@
+package checkers;
+
+/**
+ * What one call to AI.getMove did: where the move came from, how deep and how fast it searched,
+ * how well the moves were ordered and how often the caches had the position
+ */
+public class SearchStatistics {
+
+    //  where the best moves came from
+    public enum Source {
+        SEARCH, OPENING_BOOK, PONDER
+    }
+
+    Source source = Source.SEARCH;
+
+    //  deepest finished iteration
+    int depth;
+
+    //  score of the best move from the point of view of the player to move, 0 if it came from the opening book
+    int score;
+
+    //  wall clock time of the search
+    long nanos;
+
+    //  positions searched, and how many of them were past the depth
+    long nodes;
+    long quiescenceNodes;
+
+    //  beta cutoffs and how many of them the first move searched caused
+    long betaCutoffs;
+    long firstMoveCutoffs;
+
+    //  transposition table lookups and how many of them found the position
+    long hashProbes;
+    long hashHits;
+
+    //  positions looked up in the tablebase
+    long tablebaseHits;
+
+    //  time taken and nodes searched by every finished iteration, indexed by depth
+    long[] iterationNanos = new long[AI.MAX_DEPTH+1];
+    long[] iterationNodes = new long[AI.MAX_DEPTH+1];
+
+    public Source getSource(){
+        return this.source;
+    }
+
+    public int getDepth(){
+        return this.depth;
+    }
+
+    public int getScore(){
+        return this.score;
+    }
+
+    public long getMillis(){
+        return this.nanos/1000000;
+    }
+
+    public long getNodes(){
+        return this.nodes;
+    }
+
+    public long getQuiescenceNodes(){
+        return this.quiescenceNodes;
+    }
+
+    public long getNodesPerSecond(){
+        return this.nanos==0?0:this.nodes*1000000000L/this.nanos;
+    }
+
+    public long getBetaCutoffs(){
+        return this.betaCutoffs;
+    }
+
+    /**
+     * @return beta cutoffs caused by the first move searched divided by all beta cutoffs
+     */
+    public double getFirstMoveCutoffRate(){
+        return this.betaCutoffs==0?0:this.firstMoveCutoffs/(double)this.betaCutoffs;
+    }
+
+    public long getHashProbes(){
+        return this.hashProbes;
+    }
+
+    /**
+     * @return transposition table lookups that found the position divided by all lookups
+     */
+    public double getHashHitRate(){
+        return this.hashProbes==0?0:this.hashHits/(double)this.hashProbes;
+    }
+
+    public long getTablebaseHits(){
+        return this.tablebaseHits;
+    }
+
+    /**
+     * @param depth - depth of the iteration (1 to getDepth)
+     * @return time the iteration took in nanoseconds
+     */
+    public long getIterationNanos(int depth){
+        return this.iterationNanos[depth];
+    }
+
+    /**
+     * @param depth - depth of the iteration (1 to getDepth)
+     * @return positions searched by the iteration
+     */
+    public long getIterationNodes(int depth){
+        return this.iterationNodes[depth];
+    }
+
+    /**
+     * @return effective branching factor, how many times more nodes the last iteration searched than the one before,
+     *         0 if there weren't two iterations
+     */
+    public double getBranchingFactor(){
+        if(this.depth<2||this.iterationNodes[this.depth-1]==0){
+            return 0;
+        }
+        return this.iterationNodes[this.depth]/(double)this.iterationNodes[this.depth-1];
+    }
+
+    @Override
+    public String toString(){
+        return String.format("%s depth %d, %d nodes (%d quiescence) in %dms, %d nodes per second, "+
+                             "branching factor %.2f, %.1f%% first move cutoffs, %.1f%% hash hits, %d tablebase hits",
+                this.source,this.depth,this.nodes,this.quiescenceNodes,this.getMillis(),this.getNodesPerSecond(),
+                this.getBranchingFactor(),this.getFirstMoveCutoffRate()*100,this.getHashHitRate()*100,this.tablebaseHits);
+    }
+}
@@ -0,0 +1,183 @@
+package checkers;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Has an AI play many games against itself at the same time to collect positions for tuning the evaluation,
+ * every game starts with a few random moves so the games differ, then every position searched
+ * is appended to a position file (see PositionFile) with its score and the result of the game
+ *
+ * Run with:
+ *   java -cp engine/target/checkers.jar checkers.SelfPlay [games] [threads] [depth] [eval] [random plies] [file]
+ */
+public class SelfPlay {
+
+    //  games that go on this long are counted as draws
+    public static final int DEFAULT_MAX_PLIES = Tournament.DEFAULT_MAX_PLIES;
+
+    //  creates a new AI for every worker thread
+    private final Supplier<AI> factory;
+
+    //  how many games are played at once
+    private final int threads;
+
+    //  random moves played at the start of every game
+    private final int randomPlies;
+
+    //  games that go on this long are counted as draws
+    private int maxPlies;
+
+    //  plies without a capture or man move that draw a game (see Board.isDraw)
+    private int drawPlies;
+
+    //  seeds the random moves, game n uses seed+n so a run can be repeated
+    private long seed;
+
+    //  totals over the last run
+    private final AtomicLong positions;
+    private long elapsedNanos;
+
+    /**
+     * Creates a self play generator
+     * @param factory - creates the AI that plays both sides, called once per thread
+     * @param threads - how many games are played at once
+     * @param randomPlies - random moves played at the start of every game
+     */
+    public SelfPlay(Supplier<AI> factory, int threads, int randomPlies){
+        this.factory = factory;
+        this.threads = Math.max(1,threads);
+        this.randomPlies = randomPlies;
+        this.maxPlies = DEFAULT_MAX_PLIES;
+        this.drawPlies = Board.DEFAULT_DRAW_PLIES;
+        this.seed = System.nanoTime();
+        this.positions = new AtomicLong();
+    }
+
+    public void setMaxPlies(int maxPlies){
+        this.maxPlies = maxPlies;
+    }
+
+    public void setDrawPlies(int drawPlies){
+        this.drawPlies = drawPlies;
+    }
+
+    public void setSeed(long seed){
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        int games = args.length>0?Integer.parseInt(args[0]):100;
+        int threads = args.length>1?Integer.parseInt(args[1]):Runtime.getRuntime().availableProcessors();
+        int depth = args.length>2?Integer.parseInt(args[2]):6;
+        Evaluator evaluator = Evaluator.of(args.length>3?args[3]:"2");
+        int randomPlies = args.length>4?Integer.parseInt(args[4]):6;
+        Path file = Paths.get(args.length>5?args[5]:"selfplay.bin");
+
+        SelfPlay selfPlay = new SelfPlay(() -> new AI(depth,evaluator),threads,randomPlies);
+        selfPlay.run(games,file);
+        System.out.printf("Appended %d positions of %d games to %s in %.1fs (%d positions in the file)%n",
+                selfPlay.positions.get(),games,file,selfPlay.elapsedNanos/1e9,PositionFile.size(file));
+    }
+
+    /**
+     * Plays games until the requested amount have finished, appending each one to the file as it finishes
+     * @param games - amount of games to play
+     * @param file - position file to append to (created if it doesn't exist)
+     * @throws IOException if the file can't be written
+     */
+    public void run(int games, Path file) throws IOException {
+
+        long start = System.nanoTime();
+        this.positions.set(0);
+        AtomicInteger nextGame = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(this.threads);
+        try (PositionFile.Writer writer = new PositionFile.Writer(file)){
+
+            //  every worker has its own AI and keeps taking games until none are left
+            ArrayList<Future<?>> workers = new ArrayList<>();
+            for(int i=0;i<this.threads;i++){
+                workers.add(pool.submit(() -> {
+                    AI ai = this.factory.get();
+                    ai.setDrawPlies(this.drawPlies);
+                    long[] packed = new long[this.maxPlies*2];
+                    int[] scores = new int[this.maxPlies];
+                    for(int game=nextGame.getAndIncrement();game<games;game=nextGame.getAndIncrement()){
+                        ai.setSeed(this.seed+game);
+                        int[] result = this.playGame(ai,new Random(this.seed+game),packed,scores);
+                        writer.writeGame(packed,scores,result[1],result[0]);
+                        this.positions.addAndGet(result[1]);
+                    }
+                    return null;
+                }));
+            }
+            for(Future<?> worker : workers){
+                worker.get();
+            }
+        }
+        catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e){
+            if(e.getCause() instanceof IOException){
+                throw (IOException)e.getCause();
+            }
+            throw new IllegalStateException("self play game failed",e.getCause());
+        }
+        finally {
+            pool.shutdownNow();
+        }
+        this.elapsedNanos = System.nanoTime()-start;
+    }
+
+    /**
+     * Plays one game, a random opening and then the AI against itself
+     * @param ai - AI playing both sides
+     * @param random - picks the opening moves
+     * @param packed - filled with every position the AI searched (see PositionFile.Writer.pack)
+     * @param scores - filled with the score of every position searched from whites point of view
+     * @return result (1 white wins, -1 black wins, 0 draw) and how many positions were stored
+     */
+    private int[] playGame(AI ai, Random random, long[] packed, int[] scores){
+
+        Board board = new Board();
+        MoveGenerator moveGenerator = new MoveGenerator();
+        int count = 0;
+        while(true){
+
+            //  check for end conditions
+            MoveList moves = moveGenerator.moveGen(board);
+            if(board.isOver()!=0){
+                return new int[]{board.isOver(),count};
+            }
+            if(moves.size()==0){
+                return new int[]{-board.getTurn(),count};
+            }
+            if(board.getMoveCount()>=this.maxPlies||board.isDraw(this.drawPlies)){
+                return new int[]{0,count};
+            }
+
+            //  random opening moves aren't stored, the AI never searched them
+            if(board.getMoveCount()<this.randomPlies){
+                board = board.makeMove(moves.get(random.nextInt(moves.size())));
+                continue;
+            }
+            long move = ai.getMove(board);
+            PositionFile.Writer.pack(board,packed,count*2);
+            scores[count] = ai.getStatistics().getScore()*board.getTurn();
+            count++;
+            board = board.makeMove(move);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package checkers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Exact values of every position with only a few pieces left, read from a file written by TablebaseGenerator
+ * the file is memory mapped so every AI and process probing it shares the same pages instead of a copy on the heap
+ *
+ * A value is 0 for a draw, a positive value is a win for the player to move and a negative value is a loss,
+ * wins always take an odd amount of plies and losses an even amount so values count moves (see getDistance)
+ *
+ * File layout (big endian):
+ *   int magic, int version, int pieces,
+ *   long offset of every material (see material), -1 if the tablebase doesn't have it,
+ *   one byte per position of every material (see index)
+ * only positions with white to move are stored, black to move is looked up with the board turned around
+ */
+public class Tablebase {
+
+    //  start of every tablebase file
+    static final int MAGIC = 0x434B5442;
+    static final int VERSION = 1;
+
+    //  most pieces a tablebase can be built for, 5 pieces take 151MB and 6 would pass the 2GB a single mapping can hold
+    public static final int MAX_PIECES = 5;
+
+    //  returned by probe for positions with more pieces than the tablebase has
+    public static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    //  men can't stand on the row they would be kinged on
+    private static final int WHITE_MAN_SQUARES = 0xFFFFFFF0;
+    private static final int BLACK_MAN_SQUARES = 0x0FFFFFFF;
+
+    //  binomial coefficients, CHOOSE[n][k] ways to pick k of n squares
+    private static final long[][] CHOOSE = new long[33][33];
+    static {
+        for(int n=0;n<=32;n++){
+            CHOOSE[n][0] = 1;
+            for(int k=1;k<=n;k++){
+                CHOOSE[n][k] = CHOOSE[n-1][k-1]+CHOOSE[n-1][k];
+            }
+        }
+    }
+
+    //  largest amount of pieces on the board a position can have to be in the tablebase
+    private int pieces;
+
+    //  where the values of each material start in the file
+    private long[] offsets;
+
+    //  the whole file
+    private MappedByteBuffer data;
+
+    /**
+     * Maps a tablebase file into memory
+     * @param file - file written by TablebaseGenerator
+     * @throws IOException if the file can't be read or isn't a tablebase
+     */
+    public Tablebase(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,StandardOpenOption.READ)){
+            if(channel.size()>Integer.MAX_VALUE){
+                throw new IOException("tablebase is too large to map: "+file);
+            }
+            this.data = channel.map(FileChannel.MapMode.READ_ONLY,0,channel.size());
+        }
+        if(this.data.capacity()<12||this.data.getInt(0)!=MAGIC||this.data.getInt(4)!=VERSION){
+            throw new IOException("not a tablebase: "+file);
+        }
+        this.pieces = this.data.getInt(8);
+        if(this.pieces<2||this.pieces>MAX_PIECES){
+            throw new IOException("bad piece count in tablebase: "+file);
+        }
+        this.offsets = new long[materials(this.pieces)];
+        ByteBuffer directory = this.data.duplicate().position(12);
+        for(int i=0;i<this.offsets.length;i++){
+            this.offsets[i] = directory.getLong();
+        }
+    }
+
+    public int getPieces(){
+        return this.pieces;
+    }
+
+    /**
+     * Looks up the value of a position
+     * @param board - position to look up
+     * @return value of the position for the player to move (see Tablebase) or NOT_FOUND
+     */
+    public int probe(Board board){
+        if(board.getWhitePieceCount()+board.getBlackPieceCount()>this.pieces){
+            return NOT_FOUND;
+        }
+
+        //  turn the board around so white is to move
+        int white = board.getWhitePieces();
+        int black = board.getBlackPieces();
+        int kings = board.getKings();
+        if(board.getTurn()<0){
+            white = Integer.reverse(board.getBlackPieces());
+            black = Integer.reverse(board.getWhitePieces());
+            kings = Integer.reverse(kings);
+        }
+        if(white==0){
+            return valueOf(false,0);
+        }
+        if(black==0){
+            return NOT_FOUND;
+        }
+        long offset = this.offsets[material(white,black,kings,this.pieces)];
+        if(offset<0){
+            return NOT_FOUND;
+        }
+        return this.data.get((int)(offset+index(white,black,kings)));
+    }
+
+    /**
+     * @param value - value of a position (see Tablebase)
+     * @return plies until the game is won or lost, 0 for a draw
+     */
+    public static int getDistance(int value){
+        if(value>0){
+            return 2*value-1;
+        }
+        if(value<0){
+            return -2*value-2;
+        }
+        return 0;
+    }
+
+    /**
+     * @param win - true if the player to move wins, false if they lose
+     * @param plies - plies until the game is won or lost
+     * @return value of the position (see Tablebase)
+     */
+    static int valueOf(boolean win, int plies){
+        return win?(plies+1)/2:-(plies/2)-1;
+    }
+
+    /**
+     * @param pieces - most pieces in a tablebase
+     * @return amount of different materials a tablebase numbers, all sides can have 0 to pieces of each kind
+     */
+    static int materials(int pieces){
+        return (pieces+1)*(pieces+1)*(pieces+1)*(pieces+1);
+    }
+
+    /**
+     * Numbers the amount of each kind of piece
+     * @return number between 0 and materials(pieces)
+     */
+    static int material(int whiteMen, int whiteKings, int blackMen, int blackKings, int pieces){
+        return ((whiteMen*(pieces+1)+whiteKings)*(pieces+1)+blackMen)*(pieces+1)+blackKings;
+    }
+
+    /**
+     * Numbers the amount of each kind of piece in a position
+     * @return number between 0 and materials(pieces)
+     */
+    static int material(int white, int black, int kings, int pieces){
+        return material(Integer.bitCount(white&~kings),Integer.bitCount(white&kings),
+                        Integer.bitCount(black&~kings),Integer.bitCount(black&kings),pieces);
+    }
+
+    /**
+     * @return how many indexes the positions with this material can have,
+     *         men are placed without looking at each other so some indexes have a white and black man on the same square
+     */
+    static long size(int whiteMen, int whiteKings, int blackMen, int blackKings){
+        return CHOOSE[28][whiteMen]*CHOOSE[28][blackMen]*CHOOSE[32-whiteMen-blackMen][whiteKings]*
+               CHOOSE[32-whiteMen-blackMen-whiteKings][blackKings];
+    }
+
+    /**
+     * Numbers a position with white to move among the positions with the same material
+     * white men, black men, white kings then black kings are each numbered as a combination of the squares they can be on
+     * @return number between 0 and size of the material
+     */
+    static long index(int white, int black, int kings){
+        int whiteMen = white&~kings;
+        int blackMen = black&~kings;
+        int whiteKings = white&kings;
+        int blackKings = black&kings;
+        int menFree = ~(whiteMen|blackMen);
+        int kingsFree = menFree&~whiteKings;
+        long index = rank(whiteMen>>>4);
+        index = index*CHOOSE[28][Integer.bitCount(blackMen)]+rank(blackMen);
+        index = index*CHOOSE[Integer.bitCount(menFree)][Integer.bitCount(whiteKings)]+rank(compress(whiteKings,menFree));
+        index = index*CHOOSE[Integer.bitCount(kingsFree)][Integer.bitCount(blackKings)]+rank(compress(blackKings,kingsFree));
+        return index;
+    }
+
+    /**
+     * Finds the position with white to move that has an index
+     * @param index - number of the position (see index)
+     * @param position - filled with the white, black and king bitboards
+     * @return false if the index doesn't belong to a position
+     */
+    static boolean position(long index, int whiteMen, int whiteKings, int blackMen, int blackKings, int[] position){
+        long blackKingWays = CHOOSE[32-whiteMen-blackMen-whiteKings][blackKings];
+        long whiteKingWays = CHOOSE[32-whiteMen-blackMen][whiteKings];
+        long blackManWays = CHOOSE[28][blackMen];
+        long blackKingIndex = index%blackKingWays;
+        index /= blackKingWays;
+        long whiteKingIndex = index%whiteKingWays;
+        index /= whiteKingWays;
+        int blackMenMask = unrank(index%blackManWays,blackMen);
+        int whiteMenMask = unrank(index/blackManWays,whiteMen)<<4;
+        if((whiteMenMask&blackMenMask)!=0||(whiteMenMask&~WHITE_MAN_SQUARES)!=0||(blackMenMask&~BLACK_MAN_SQUARES)!=0){
+            return false;
+        }
+        int menFree = ~(whiteMenMask|blackMenMask);
+        int whiteKingsMask = expand(unrank(whiteKingIndex,whiteKings),menFree);
+        int blackKingsMask = expand(unrank(blackKingIndex,blackKings),menFree&~whiteKingsMask);
+        position[0] = whiteMenMask|whiteKingsMask;
+        position[1] = blackMenMask|blackKingsMask;
+        position[2] = whiteKingsMask|blackKingsMask;
+        return true;
+    }
+
+    /**
+     * Numbers a set of bits among all sets with as many bits (combinatorial number system)
+     */
+    private static long rank(int bits){
+        long rank = 0;
+        int count = 0;
+        while(bits!=0){
+            count++;
+            rank += CHOOSE[Integer.numberOfTrailingZeros(bits)][count];
+            bits &= bits-1;
+        }
+        return rank;
+    }
+
+    /**
+     * Finds the set of count bits with a number (opposite of rank)
+     */
+    private static int unrank(long rank, int count){
+        int bits = 0;
+        for(int k=count;k>0;k--){
+            int bit = k-1;
+            while(bit<31&&CHOOSE[bit+1][k]<=rank){
+                bit++;
+            }
+            rank -= CHOOSE[bit][k];
+            bits |= 1<<bit;
+        }
+        return bits;
+    }
+
+    /**
+     * Moves every bit to its place among the free bits only, so a bit on the nth free square becomes bit n
+     */
+    private static int compress(int bits, int free){
+        int compressed = 0;
+        while(bits!=0){
+            int bit = Integer.numberOfTrailingZeros(bits);
+            bits &= bits-1;
+            compressed |= 1<<Integer.bitCount(free&((1<<bit)-1));
+        }
+        return compressed;
+    }
+
+    /**
+     * Moves bit n to the nth free square (opposite of compress)
+     */
+    private static int expand(int bits, int free){
+        int expanded = 0;
+        int n = 0;
+        while(free!=0&&bits>>>n!=0){
+            int square = free&-free;
+            free &= free-1;
+            if(((bits>>>n)&1)!=0){
+                expanded |= square;
+            }
+            n++;
+        }
+        return expanded;
+    }
+}
@@ -0,0 +1,246 @@
+package checkers;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Builds a tablebase (see Tablebase) of every position with up to a given amount of pieces by retrograde analysis:
+ * positions without moves are lost, then every pass finds the positions won or lost in one more ply
+ * until nothing changes, whatever is left is a draw
+ * captures and kinging lead to materials that were solved before, so materials are solved from the fewest pieces
+ * and men up, each together with its mirror (the same material with the colours swapped) where its moves lead
+ *
+ * Run with:
+ *   java -cp engine/target/checkers.jar checkers.TablebaseGenerator [pieces] [file]
+ */
+public class TablebaseGenerator {
+
+    //  value of a position that hasn't been solved yet
+    private static final byte UNKNOWN = Byte.MIN_VALUE;
+
+    //  longest win or loss a value can hold
+    private static final int MAX_DISTANCE = Tablebase.getDistance(Byte.MAX_VALUE);
+
+    //  largest amount of pieces on the board
+    private final int pieces;
+
+    //  values of every material, null until solved (see Tablebase for the numbering)
+    private final byte[][] values;
+
+    //  longest win or loss found so far
+    private int maxDistance;
+
+    //  used to generate the moves of each position
+    private final Board board;
+    private final MoveGenerator moveGenerator;
+    private final MoveList moves;
+    private final int[] position;
+
+    /**
+     * Creates a generator for a tablebase
+     * @param pieces - largest amount of pieces on the board (2 to Tablebase.MAX_PIECES)
+     */
+    public TablebaseGenerator(int pieces){
+        if(pieces<2||pieces>Tablebase.MAX_PIECES){
+            throw new IllegalArgumentException("pieces must be between 2 and "+Tablebase.MAX_PIECES);
+        }
+        this.pieces = pieces;
+        this.values = new byte[Tablebase.materials(pieces)][];
+        this.board = new Board();
+        this.moveGenerator = new MoveGenerator();
+        this.moves = new MoveList();
+        this.position = new int[3];
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        int pieces = args.length>0?Integer.parseInt(args[0]):4;
+        Path file = Paths.get(args.length>1?args[1]:"tablebase.bin");
+
+        long start = System.currentTimeMillis();
+        TablebaseGenerator generator = new TablebaseGenerator(pieces);
+        generator.generate();
+        generator.write(file);
+        System.out.printf("Wrote %d piece tablebase to %s (%d bytes, longest win or loss %d plies) in %.1fs%n",
+                pieces,file,Files.size(file),generator.maxDistance,(System.currentTimeMillis()-start)/1000.0);
+    }
+
+    /**
+     * Solves every material with up to the given amount of pieces where both sides have a piece
+     */
+    public void generate(){
+        for(int total=2;total<=this.pieces;total++){
+            for(int men=0;men<=total;men++){
+                for(int whiteMen=0;whiteMen<=men;whiteMen++){
+                    int blackMen = men-whiteMen;
+                    for(int whiteKings=0;whiteKings<=total-men;whiteKings++){
+                        int blackKings = total-men-whiteKings;
+                        if(whiteMen+whiteKings>0&&blackMen+blackKings>0&&
+                           this.values[Tablebase.material(whiteMen,whiteKings,blackMen,blackKings,this.pieces)]==null){
+                            this.solve(whiteMen,whiteKings,blackMen,blackKings);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Solves a material and its mirror
+     */
+    private void solve(int whiteMen, int whiteKings, int blackMen, int blackKings){
+
+        //  every move without a capture or kinging goes from one of these to the other
+        int[][] materials = {{whiteMen,whiteKings,blackMen,blackKings},{blackMen,blackKings,whiteMen,whiteKings}};
+        int count = materials[0][0]==materials[1][0]&&materials[0][1]==materials[1][1]?1:2;
+        for(int m=0;m<count;m++){
+            int[] material = materials[m];
+            byte[] slice = new byte[(int)Tablebase.size(material[0],material[1],material[2],material[3])];
+            Arrays.fill(slice,UNKNOWN);
+
+            //  indexes without a position are never looked up
+            for(int i=0;i<slice.length;i++){
+                if(!Tablebase.position(i,material[0],material[1],material[2],material[3],this.position)){
+                    slice[i] = 0;
+                }
+            }
+            this.values[Tablebase.material(material[0],material[1],material[2],material[3],this.pieces)] = slice;
+        }
+
+        //  find the positions won or lost in one more ply every pass, materials solved before can have longer ones
+        for(int plies=0;;plies++){
+            boolean changed = false;
+            for(int m=0;m<count;m++){
+                int[] material = materials[m];
+                byte[] slice = this.values[Tablebase.material(material[0],material[1],material[2],material[3],this.pieces)];
+                for(int i=0;i<slice.length;i++){
+                    if(slice[i]==UNKNOWN){
+                        Tablebase.position(i,material[0],material[1],material[2],material[3],this.position);
+                        int value = this.solvePosition(plies);
+                        if(value!=UNKNOWN){
+                            slice[i] = (byte)value;
+                            changed = true;
+                        }
+                    }
+                }
+            }
+            if(changed){
+                this.maxDistance = Math.max(this.maxDistance,plies);
+            }
+            else if(plies>this.maxDistance){
+                break;
+            }
+        }
+
+        //  positions that can't be won or lost are draws
+        for(int m=0;m<count;m++){
+            int[] material = materials[m];
+            byte[] slice = this.values[Tablebase.material(material[0],material[1],material[2],material[3],this.pieces)];
+            for(int i=0;i<slice.length;i++){
+                if(slice[i]==UNKNOWN){
+                    slice[i] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds if the position in this.position is won or lost in exactly the given amount of plies
+     * @param plies - distance being solved in this pass
+     * @return value of the position (see Tablebase) or UNKNOWN
+     */
+    private int solvePosition(int plies){
+        this.board.setPosition(this.position[0],this.position[1],this.position[2],1);
+        this.moveGenerator.moveGen(this.board,this.moves);
+
+        //  no moves is a loss right away
+        if(this.moves.size()==0){
+            return Tablebase.valueOf(false,0);
+        }
+
+        //  win as fast as possible, lose as slowly as possible
+        int fastestWin = Integer.MAX_VALUE;
+        int slowestLoss = 0;
+        boolean allLost = true;
+        for(int i=0;i<this.moves.size();i++){
+            this.board.make(this.moves.get(i));
+            int value = this.lookUp(this.board);
+            this.board.unmake();
+            if(value==UNKNOWN||value==0){
+                allLost = false;
+            }
+            else if(value<0){
+                fastestWin = Math.min(fastestWin,Tablebase.getDistance(value)+1);
+                allLost = false;
+            }
+            else {
+                slowestLoss = Math.max(slowestLoss,Tablebase.getDistance(value)+1);
+            }
+        }
+        if(fastestWin<=plies){
+            return Tablebase.valueOf(true,checkDistance(fastestWin));
+        }
+        if(allLost&&slowestLoss<=plies){
+            return Tablebase.valueOf(false,checkDistance(slowestLoss));
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Looks up a position with black to move in the materials solved so far
+     * @return value of the position for black (see Tablebase) or UNKNOWN
+     */
+    private int lookUp(Board gameboard){
+
+        //  turn the board around so white is to move
+        int white = Integer.reverse(gameboard.getBlackPieces());
+        int black = Integer.reverse(gameboard.getWhitePieces());
+        int kings = Integer.reverse(gameboard.getKings());
+        if(white==0){
+            return Tablebase.valueOf(false,0);
+        }
+        byte[] slice = this.values[Tablebase.material(white,black,kings,this.pieces)];
+        return slice[(int)Tablebase.index(white,black,kings)];
+    }
+
+    private static int checkDistance(int plies){
+        if(plies>MAX_DISTANCE){
+            throw new IllegalStateException("win longer than "+MAX_DISTANCE+" plies can't be stored");
+        }
+        return plies;
+    }
+
+    /**
+     * Writes the solved materials to a tablebase file
+     * @param file - where to write the tablebase
+     * @throws IOException if the file can't be written
+     */
+    public void write(Path file) throws IOException {
+
+        //  values follow the header and the offset of every material
+        long offset = 12+8L*this.values.length;
+        long[] offsets = new long[this.values.length];
+        for(int i=0;i<this.values.length;i++){
+            offsets[i] = this.values[i]==null?-1:offset;
+            offset += this.values[i]==null?0:this.values[i].length;
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file),1<<16))){
+            out.writeInt(Tablebase.MAGIC);
+            out.writeInt(Tablebase.VERSION);
+            out.writeInt(this.pieces);
+            for(long materialOffset : offsets){
+                out.writeLong(materialOffset);
+            }
+            for(byte[] slice : this.values){
+                if(slice!=null){
+                    out.write(slice);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package checkers;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Has two AIs play many games of checkers against each other at the same time
+ * every game is written to a results file as soon as it finishes (game,result,plies,nodes,millis)
+ * where result is 1 if white wins, -1 if black wins and 0 for a draw
+ *
+ * Run with:
+ *   java -cp engine/target/checkers.jar checkers.Tournament [games] [threads] [white depth] [white eval] [black depth] [black eval] [results file]
+ */
+public class Tournament {
+
+    //  games that go on this long are counted as draws
+    public static final int DEFAULT_MAX_PLIES = 400;
+
+    //  create a new AI for every worker thread
+    private final Supplier<AI> whiteFactory;
+    private final Supplier<AI> blackFactory;
+
+    //  how many games are played at once
+    private final int threads;
+
+    //  games that go on this long are counted as draws
+    private int maxPlies;
+
+    //  plies without a capture or man move that draw a game (see Board.isDraw)
+    private int drawPlies;
+
+    //  totals over all finished games
+    private int whiteWins;
+    private int draws;
+    private int blackWins;
+    private long totalPlies;
+    private long totalNodes;
+
+    //  wall clock time of the last run
+    private long elapsedNanos;
+
+    /**
+     * Creates a tournament between two kinds of AI
+     * @param whiteFactory - creates the AI that plays white, called once per thread
+     * @param blackFactory - creates the AI that plays black, called once per thread
+     * @param threads - how many games are played at once
+     */
+    public Tournament(Supplier<AI> whiteFactory, Supplier<AI> blackFactory, int threads){
+        this.whiteFactory = whiteFactory;
+        this.blackFactory = blackFactory;
+        this.threads = Math.max(1,threads);
+        this.maxPlies = DEFAULT_MAX_PLIES;
+        this.drawPlies = Board.DEFAULT_DRAW_PLIES;
+    }
+
+    public void setMaxPlies(int maxPlies){
+        this.maxPlies = maxPlies;
+    }
+
+    public void setDrawPlies(int drawPlies){
+        this.drawPlies = drawPlies;
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        int games = args.length>0?Integer.parseInt(args[0]):100;
+        int threads = args.length>1?Integer.parseInt(args[1]):Runtime.getRuntime().availableProcessors();
+        int whiteDepth = args.length>2?Integer.parseInt(args[2]):6;
+        Evaluator whiteEval = Evaluator.of(args.length>3?args[3]:"1");
+        int blackDepth = args.length>4?Integer.parseInt(args[4]):6;
+        Evaluator blackEval = Evaluator.of(args.length>5?args[5]:"0");
+        Path results = Paths.get(args.length>6?args[6]:"tournament.csv");
+
+        Tournament tournament = new Tournament(() -> new AI(whiteDepth,whiteEval),() -> new AI(blackDepth,blackEval),threads);
+        tournament.run(games,results);
+        tournament.printSummary(System.out);
+    }
+
+    /**
+     * Plays games until the requested amount have finished
+     * @param games - amount of games to play
+     * @param results - file every game is written to when it finishes (overwritten)
+     */
+    public void run(int games, Path results) throws IOException {
+
+        long start = System.nanoTime();
+        AtomicInteger nextGame = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(this.threads);
+        try (BufferedWriter writer = Files.newBufferedWriter(results,StandardCharsets.UTF_8)){
+
+            //  every worker has its own AIs and move generator and keeps taking games until none are left
+            ArrayList<Future<?>> workers = new ArrayList<>();
+            for(int i=0;i<this.threads;i++){
+                workers.add(pool.submit(() -> {
+                    AI white = this.whiteFactory.get();
+                    AI black = this.blackFactory.get();
+                    white.setDrawPlies(this.drawPlies);
+                    black.setDrawPlies(this.drawPlies);
+                    MoveGenerator moveGenerator = new MoveGenerator();
+                    for(int game=nextGame.getAndIncrement();game<games;game=nextGame.getAndIncrement()){
+                        long gameStart = System.nanoTime();
+                        long[] result = this.playGame(white,black,moveGenerator);
+                        this.record(writer,game,result,(System.nanoTime()-gameStart)/1000000);
+                    }
+                    return null;
+                }));
+            }
+            for(Future<?> worker : workers){
+                worker.get();
+            }
+        }
+        catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e){
+            if(e.getCause() instanceof IOException){
+                throw (IOException)e.getCause();
+            }
+            throw new IllegalStateException("tournament game failed",e.getCause());
+        }
+        finally {
+            pool.shutdownNow();
+        }
+        this.elapsedNanos = System.nanoTime()-start;
+    }
+
+    /**
+     * Plays one game
+     * @param white - AI playing white
+     * @param black - AI playing black
+     * @param moveGenerator - used to check if the player to move has any moves
+     * @return result (1 white wins, -1 black wins, 0 draw), plies played and nodes searched
+     */
+    private long[] playGame(AI white, AI black, MoveGenerator moveGenerator){
+
+        Board board = new Board();
+        long nodes = 0;
+        while(true){
+
+            //  check for end conditions
+            if(board.isOver()!=0){
+                return new long[]{board.isOver(),board.getMoveCount(),nodes};
+            }
+            if(moveGenerator.moveGen(board).size()==0){
+                return new long[]{-board.getTurn(),board.getMoveCount(),nodes};
+            }
+            if(board.getMoveCount()>=this.maxPlies||board.isDraw(this.drawPlies)){
+                return new long[]{0,board.getMoveCount(),nodes};
+            }
+
+            //  make move
+            AI player = board.getTurn()==1?white:black;
+            board = board.makeMove(player.getMove(board));
+            nodes += player.getNodeCount();
+        }
+    }
+
+    /**
+     * Adds a finished game to the totals and the results file
+     */
+    private synchronized void record(BufferedWriter writer, int game, long[] result, long millis) throws IOException {
+        if(result[0]>0){
+            this.whiteWins++;
+        }
+        else if(result[0]<0){
+            this.blackWins++;
+        }
+        else {
+            this.draws++;
+        }
+        this.totalPlies += result[1];
+        this.totalNodes += result[2];
+        writer.write(game+","+result[0]+","+result[1]+","+result[2]+","+millis);
+        writer.newLine();
+        writer.flush();
+    }
+
+    /**
+     * Prints win/draw/loss counts from whites point of view, average game length and search speed
+     * @param out - where to print the summary
+     */
+    public synchronized void printSummary(PrintStream out){
+        int games = this.whiteWins+this.draws+this.blackWins;
+        double seconds = this.elapsedNanos/1e9;
+        out.printf("White won %d, drew %d, lost %d of %d games (%.1f%% white wins)%n",
+                this.whiteWins,this.draws,this.blackWins,games,games==0?0:this.whiteWins*100.0/games);
+        out.printf("Average game length %.1f plies%n",games==0?0:this.totalPlies/(double)games);
+        out.printf("%d nodes in %.1fs (%.0f nodes per second)%n",this.totalNodes,seconds,seconds==0?0:this.totalNodes/seconds);
+    }
+
+    public synchronized int getWhiteWins(){
+        return this.whiteWins;
+    }
+
+    public synchronized int getDraws(){
+        return this.draws;
+    }
+
+    public synchronized int getBlackWins(){
+        return this.blackWins;
+    }
+}
@@ -0,0 +1,145 @@
+package checkers;
+
+/**
+ * Fixed size hash table of searched positions shared by every search an AI does
+ * entries are kept in buckets of two: the first keeps the deepest search of the position,
+ * the second is always replaced so recent positions still get stored
+ * each entry is two longs: the position hash xor the data, and the data
+ * (bits 0-31 score, 32-39 depth, 40-41 bound, 42-47 age, 48-62 best move, 63 set if used)
+ */
+public class TranspositionTable {
+
+    //  what the stored score means
+    public static final int EXACT = 0;
+    public static final int LOWER_BOUND = 1;
+    public static final int UPPER_BOUND = 2;
+
+    //  bits of an entry holding the best move (see getMoveKey)
+    private static final int MOVE_KEY_MASK = (1<<15)-1;
+
+    //  size of one entry in bytes
+    private static final int ENTRY_SIZE = 16;
+
+    private final long[] keys;
+    private final long[] data;
+
+    //  entries-1, used to index the table with the hash
+    private final int mask;
+
+    //  incremented every search so entries from old searches get replaced first
+    private int age;
+
+    /**
+     * Creates a table that uses up to the given memory
+     * @param megabytes - memory budget of the table
+     */
+    public TranspositionTable(int megabytes){
+        long entries = Math.max(2,Math.min(1<<30,(long)megabytes*1024*1024/ENTRY_SIZE));
+        int size = Integer.highestOneBit((int)entries);
+        this.keys = new long[size];
+        this.data = new long[size];
+        this.mask = size-1;
+        this.age = 0;
+    }
+
+    /**
+     * Lets the table know a new search has started
+     */
+    public void newSearch(){
+        this.age = (this.age+1)&63;
+    }
+
+    /**
+     * Removes every entry
+     */
+    public void clear(){
+        for(int i=0;i<this.keys.length;i++){
+            this.keys[i] = 0;
+            this.data[i] = 0;
+        }
+    }
+
+    /**
+     * Looks up a position
+     * @param hash - zobrist hash of the position
+     * @return the stored entry or 0 if the position isn't in the table
+     */
+    public long probe(long hash){
+        int index = (int)hash&this.mask&~1;
+        for(int i=index;i<index+2;i++){
+            long entry = this.data[i];
+            if((this.keys[i]^entry)==hash&&entry!=0){
+                return entry;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Stores the result of searching a position
+     * @param hash - zobrist hash of the position
+     * @param depth - depth the position was searched to
+     * @param score - score of the position
+     * @param bound - EXACT, LOWER_BOUND or UPPER_BOUND
+     * @param move - best move found (see Move) or Move.NONE
+     */
+    public void store(long hash, int depth, int score, int bound, long move){
+
+        //  use the first entry if it's for this position, out of date or not as deep
+        int index = (int)hash&this.mask&~1;
+        long first = this.data[index];
+        if(first!=0&&(this.keys[index]^first)!=hash&&getAge(first)==this.age&&getDepth(first)>depth){
+            index++;
+        }
+
+        //  keep the old best move if this search didn't find one
+        int moveKey = move==Move.NONE?0:getMoveKey(move);
+        long old = this.data[index];
+        if(moveKey==0&&(this.keys[index]^old)==hash&&old!=0){
+            moveKey = (int)(old>>>48)&MOVE_KEY_MASK;
+        }
+
+        long entry = (score&0xFFFFFFFFL)|((long)Math.min(depth,255)<<32)|((long)bound<<40)|
+                ((long)this.age<<42)|((long)moveKey<<48)|(1L<<63);
+        this.data[index] = entry;
+        this.keys[index] = hash^entry;
+    }
+
+    public static int getScore(long entry){
+        return (int)entry;
+    }
+
+    public static int getDepth(long entry){
+        return (int)(entry>>>32)&255;
+    }
+
+    public static int getBound(long entry){
+        return (int)(entry>>>40)&3;
+    }
+
+    private static int getAge(long entry){
+        return (int)(entry>>>42)&63;
+    }
+
+    /**
+     * Checks if the best move stored in an entry is this move
+     * @param entry - entry returned by probe
+     * @param move - packed move (see Move)
+     * @return true if the move starts and ends on the same squares and jumps the same pieces as the stored move
+     *         (the jumped pieces are compared by a 5 bit hash, so two jumps between the same squares rarely match)
+     */
+    public static boolean isBestMove(long entry, long move){
+        return ((int)(entry>>>48)&MOVE_KEY_MASK)==getMoveKey(move);
+    }
+
+    /**
+     * @param move - packed move (see Move)
+     * @return starting and ending square of the move and a hash of the pieces it jumps packed into 15 bits,
+     *         jumps between the same two squares can take different pieces
+     */
+    private static int getMoveKey(long move){
+        int captures = Move.getCaptures(move);
+        int capturesHash = captures==0?0:(captures*0x9E3779B1)>>>27;
+        return Move.getFrom(move)|(Move.getTo(move)<<5)|(capturesHash<<10);
+    }
+}
@@ -0,0 +1,170 @@
+package checkers;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Scores a position as the sum of a weight times each feature, every feature is counted for white minus black
+ * the default weights give the same scores as PieceSquareEvaluator, EvaluationTuner fits them to the results of games
+ *
+ * Weights files have one feature per line with its name and weight (example: kings 32 or piece_square 1.25),
+ * features that aren't listed keep their default weight and lines starting with # are skipped
+ *
+ * Weights are kept in fixed point, in steps of 1/WEIGHT_ONE, so tuning can change a feature with large values
+ * like piece_square by less than a whole unit; the weighted sum is divided by WEIGHT_ONE once at the end
+ */
+public class WeightedEvaluator implements Evaluator {
+
+    //  features in the order of the weights
+    public static final int MEN = 0;
+    public static final int KINGS = 1;
+    public static final int BACK_RANK = 2;
+    public static final int PIECE_SQUARE = 3;
+    public static final int CENTRE = 4;
+    public static final int FEATURES = 5;
+
+    public static final String[] NAMES = {"men","kings","back_rank","piece_square","centre"};
+
+    //  a weight of 1 in fixed point, weights are rounded to steps of 1/WEIGHT_ONE
+    public static final int WEIGHT_ONE = 16;
+
+    //  weights giving the same score as PieceSquareEvaluator
+    private static final double[] DEFAULT_WEIGHTS = {16,32,16,1,0};
+
+    //  the 8 squares in the middle of the board, pieces there control the most squares
+    static final int CENTRE_SQUARES = 0x00666600;
+
+    //  weights in fixed point (WEIGHT_ONE is a weight of 1)
+    private final int[] weights;
+
+    /**
+     * Creates an evaluator with the default weights
+     */
+    public WeightedEvaluator(){
+        this(DEFAULT_WEIGHTS);
+    }
+
+    /**
+     * Creates an evaluator with the given weights
+     * @param weights - weight of every feature, indexed by the feature constants, rounded to steps of 1/WEIGHT_ONE
+     */
+    public WeightedEvaluator(double[] weights){
+        if(weights.length!=FEATURES){
+            throw new IllegalArgumentException("expected "+FEATURES+" weights, got "+weights.length);
+        }
+        this.weights = new int[FEATURES];
+        for(int i=0;i<FEATURES;i++){
+            this.weights[i] = (int)Math.round(weights[i]*WEIGHT_ONE);
+        }
+    }
+
+    /**
+     * Reads the weights from a weights file
+     * @param file - a weights file
+     * @return evaluator with the weights
+     * @throws IOException if the file can't be read or has a bad line in it
+     */
+    public static WeightedEvaluator load(Path file) throws IOException {
+        double[] weights = DEFAULT_WEIGHTS.clone();
+        List<String> lines = Files.readAllLines(file,StandardCharsets.UTF_8);
+        for(int i=0;i<lines.size();i++){
+            String line = lines.get(i).trim();
+            if(line.isEmpty()||line.startsWith("#")){
+                continue;
+            }
+            String[] words = line.split("\\s+");
+            int feature = Arrays.asList(NAMES).indexOf(words[0]);
+            try {
+                if(words.length!=2||feature<0){
+                    throw new NumberFormatException();
+                }
+                weights[feature] = Double.parseDouble(words[1]);
+                if(!Double.isFinite(weights[feature])){
+                    throw new NumberFormatException();
+                }
+            }
+            catch (NumberFormatException e){
+                throw new IOException(file+" line "+(i+1)+": expected a feature name and a weight, got "+line);
+            }
+        }
+        return new WeightedEvaluator(weights);
+    }
+
+    /**
+     * Writes the weights to a weights file
+     * @param file - where to write the weights
+     * @throws IOException if the file can't be written
+     */
+    public void save(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file,StandardCharsets.UTF_8)){
+            for(int i=0;i<FEATURES;i++){
+                //  steps of 1/16 are written exactly, whole weights without a fraction
+                int weight = this.weights[i];
+                writer.write(NAMES[i]+" "+(weight%WEIGHT_ONE==0?String.valueOf(weight/WEIGHT_ONE):String.valueOf((double)weight/WEIGHT_ONE)));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * @return the weight of every feature
+     */
+    public double[] getWeights(){
+        double[] weights = new double[FEATURES];
+        for(int i=0;i<FEATURES;i++){
+            weights[i] = (double)this.weights[i]/WEIGHT_ONE;
+        }
+        return weights;
+    }
+
+    /**
+     * @return a copy of the weight of every feature in fixed point (WEIGHT_ONE is a weight of 1)
+     */
+    int[] getFixedWeights(){
+        return this.weights.clone();
+    }
+
+    /**
+     * Fills in the value of every feature in a position
+     * @param gameboard - state of board
+     * @param features - filled with every feature, white minus black
+     */
+    public static void features(Board gameboard, int[] features){
+        int whiteKings = gameboard.getWhiteKingCount();
+        int blackKings = gameboard.getBlackKingCount();
+        features[MEN] = (gameboard.getWhitePieceCount()-whiteKings)-(gameboard.getBlackPieceCount()-blackKings);
+        features[KINGS] = whiteKings-blackKings;
+        features[BACK_RANK] = gameboard.getWhiteBackRankCount()-gameboard.getBlackBackRankCount();
+        features[PIECE_SQUARE] = gameboard.getPieceSquareScore();
+        features[CENTRE] = Integer.bitCount(gameboard.getWhitePieces()&CENTRE_SQUARES)-
+                           Integer.bitCount(gameboard.getBlackPieces()&CENTRE_SQUARES);
+    }
+
+    /**
+     * Gives the board a heuristic score, the weighted sum of the features
+     * @param gameboard - state of board
+     * @return - number representing heuristic score of position from whites point of view
+     */
+    @Override
+    public int evaluate(Board gameboard){
+        if(gameboard.isOver()!=0){
+            return Integer.MAX_VALUE*gameboard.isOver();
+        }
+        int whiteKings = gameboard.getWhiteKingCount();
+        int blackKings = gameboard.getBlackKingCount();
+        int[] weights = this.weights;
+
+        //  divided rather than shifted so a position and its mirror image get exactly opposite scores
+        return (weights[MEN]*((gameboard.getWhitePieceCount()-whiteKings)-(gameboard.getBlackPieceCount()-blackKings))+
+                weights[KINGS]*(whiteKings-blackKings)+
+                weights[BACK_RANK]*(gameboard.getWhiteBackRankCount()-gameboard.getBlackBackRankCount())+
+                weights[PIECE_SQUARE]*gameboard.getPieceSquareScore()+
+                weights[CENTRE]*(Integer.bitCount(gameboard.getWhitePieces()&CENTRE_SQUARES)-
+                                 Integer.bitCount(gameboard.getBlackPieces()&CENTRE_SQUARES)))/WEIGHT_ONE;
+    }
+}
@@ -0,0 +1,105 @@
+package checkers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that making and unmaking moves keeps the incrementally updated state of a board right
+ * and that positions read back from their notation
+ */
+public class BoardTest {
+
+    /**
+     * Makes and unmakes every legal move along random games, the board has to be exactly as it was
+     */
+    @Test
+    public void unmakeRestoresBoard(){
+        Random random = new Random(7);
+        MoveGenerator moveGenerator = new MoveGenerator();
+        for(int game=0;game<200;game++){
+            Board board = new Board();
+            for(int ply=0;ply<200&&board.isOver()==0;ply++){
+                MoveList moves = moveGenerator.moveGen(board);
+                if(moves.size()==0){
+                    break;
+                }
+                String position = board.toString();
+                long hash = board.getHash();
+                int pieceSquareScore = board.getPieceSquareScore();
+                int quietPlies = board.getQuietPlies();
+                int repetitions = board.getRepetitions();
+                for(int i=0;i<moves.size();i++){
+                    board.make(moves.get(i));
+                    board.unmake();
+                    assertEquals(position,board.toString());
+                    assertEquals(hash,board.getHash());
+                    assertEquals(pieceSquareScore,board.getPieceSquareScore());
+                    assertEquals(quietPlies,board.getQuietPlies());
+                    assertEquals(repetitions,board.getRepetitions());
+                }
+                board.make(moves.get(random.nextInt(moves.size())));
+            }
+        }
+    }
+
+    /**
+     * The hash and the scores kept up to date while moves are made match the ones of the same position set up from scratch
+     */
+    @Test
+    public void incrementalStateMatchesNewBoard(){
+        Random random = new Random(11);
+        MoveGenerator moveGenerator = new MoveGenerator();
+        for(int game=0;game<200;game++){
+            Board board = new Board();
+            for(int ply=0;ply<200&&board.isOver()==0;ply++){
+                MoveList moves = moveGenerator.moveGen(board);
+                if(moves.size()==0){
+                    break;
+                }
+                board.make(moves.get(random.nextInt(moves.size())));
+                Board fresh = Board.parse(board.toString());
+                assertEquals(fresh.getHash(),board.getHash());
+                assertEquals(fresh.getPieceSquareScore(),board.getPieceSquareScore());
+                assertEquals(fresh.getWhiteBackRankCount(),board.getWhiteBackRankCount());
+                assertEquals(fresh.getBlackBackRankCount(),board.getBlackBackRankCount());
+                assertEquals(fresh.getWhitePieceCount(),board.getWhitePieceCount());
+                assertEquals(fresh.getBlackPieceCount(),board.getBlackPieceCount());
+                assertEquals(fresh.getWhiteKingCount(),board.getWhiteKingCount());
+                assertEquals(fresh.getBlackKingCount(),board.getBlackKingCount());
+            }
+        }
+    }
+
+    @Test
+    public void parseReadsToString(){
+        assertEquals(new Board().toString(),Board.parse(new Board().toString()).toString());
+        assertEquals("W:WK33,40,42:B1,3",Board.parse("W:W40,42,K33:B1,3").toString());
+        assertEquals("B:WK1:BK62",Board.parse("B:BK62:WK1").toString());
+        assertEquals(new Board().getHash(),Board.parse(new Board().toString()).getHash());
+    }
+
+    @Test
+    public void parseRejectsBadPositions(){
+        String[] bad = {
+            "",
+            "X:W40:B1",
+            "W:W40",
+            "W:W40:W42",
+            "W:B1:X40",
+            "W:W41:B1",
+            "W:W40,40:B1",
+            "W:W40:B40",
+            "W:Wx:B1",
+            "W:W64:B1",
+            "W:W1:B62",
+            "W:W40:B62",
+        };
+        for(String text : bad){
+            assertThrows(IllegalArgumentException.class,() -> Board.parse(text),text);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package checkers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the move generator against the known amount of positions reachable from the start
+ */
+public class PerftTest {
+
+    //  deepest count checked, deeper ones take seconds each
+    private static final int DEPTH = 8;
+
+    @Test
+    public void startCounts(){
+        Perft perft = new Perft(DEPTH);
+        Board board = new Board();
+        for(int depth=0;depth<=DEPTH;depth++){
+            assertEquals(Perft.START_COUNTS[depth],perft.count(board,depth),"depth "+depth);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package checkers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that tablebase indexes and positions can be turned into each other
+ */
+public class TablebaseTest {
+
+    //  most pieces of the materials checked, every index of them is tried
+    private static final int PIECES = 3;
+
+    @Test
+    public void indexFindsPosition(){
+        int[] position = new int[3];
+        for(int whiteMen=0;whiteMen<=PIECES;whiteMen++){
+            for(int whiteKings=0;whiteMen+whiteKings<=PIECES;whiteKings++){
+                for(int blackMen=0;whiteMen+whiteKings+blackMen<=PIECES;blackMen++){
+                    for(int blackKings=0;whiteMen+whiteKings+blackMen+blackKings<=PIECES;blackKings++){
+                        long size = Tablebase.size(whiteMen,whiteKings,blackMen,blackKings);
+                        long positions = 0;
+                        for(long index=0;index<size;index++){
+                            if(!Tablebase.position(index,whiteMen,whiteKings,blackMen,blackKings,position)){
+                                continue;
+                            }
+                            positions++;
+                            assertEquals(index,Tablebase.index(position[0],position[1],position[2]));
+                            assertEquals(Tablebase.material(whiteMen,whiteKings,blackMen,blackKings,PIECES),
+                                         Tablebase.material(position[0],position[1],position[2],PIECES));
+                            assertEquals(0,position[0]&position[1]);
+                        }
+                        assertTrue(positions>0||whiteMen+blackMen>0);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void positionFindsIndex(){
+        int[] position = new int[3];
+        String[] texts = {"W:W40,42,K33:B1,3","W:WK1,K3:BK62","W:W40:B1,K5,K7","W:W33:B30"};
+        for(String text : texts){
+            Board board = Board.parse(text);
+            int white = board.getWhitePieces();
+            int black = board.getBlackPieces();
+            int kings = board.getKings();
+            long index = Tablebase.index(white,black,kings);
+            assertTrue(Tablebase.position(index,Integer.bitCount(white&~kings),Integer.bitCount(white&kings),
+                                          Integer.bitCount(black&~kings),Integer.bitCount(black&kings),position),text);
+            assertEquals(white,position[0],text);
+            assertEquals(black,position[1],text);
+            assertEquals(kings,position[2],text);
+        }
+    }
+}